@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Realistic sequences of ticker updates for the benchmarks. Each dataset is generated from a
+ * fixed seed so that runs are comparable, and consecutive values only differ the way live
+ * updates do, e.g. a price moving by a few ticks.
+ */
+public enum BenchmarkData {
+    /** Prices with between 2 and 8 decimals, from stocks down to crypto fractions. */
+    PRICES {
+        @Override
+        String[] generate(Random random) {
+            final String[] values = new String[SIZE];
+            int decimals = 2;
+            double price = 187.43;
+            for (int i = 0; i < SIZE; i++) {
+                if (i % 64 == 0) {
+                    // Switch to another instrument every so often
+                    decimals = 2 + random.nextInt(7);
+                    price = Math.pow(10, 4 - decimals) * (1 + random.nextDouble() * 9);
+                }
+                price = Math.max(0, price + (random.nextInt(11) - 5) * Math.pow(10, -decimals));
+                values[i] = "$" + String.format(Locale.US, "%,." + decimals + "f", price);
+            }
+            return values;
+        }
+    },
+    /** Signed daily percent changes. */
+    PERCENT_CHANGES {
+        @Override
+        String[] generate(Random random) {
+            final String[] values = new String[SIZE];
+            double change = 0.0;
+            for (int i = 0; i < SIZE; i++) {
+                change += (random.nextInt(21) - 10) / 100.0;
+                values[i] = String.format(Locale.US, "%+.2f%%", change);
+            }
+            return values;
+        }
+    },
+    /** A long ticker tape of symbols and prices, where a few prices change per update. */
+    TAPE {
+        @Override
+        String[] generate(Random random) {
+            final String[] symbols = {"AAPL", "MSFT", "AMZN", "GOOG", "TSLA", "NVDA", "META",
+                    "BRK.B", "JPM", "V", "BTC", "ETH", "DOGE", "SPY", "QQQ", "IWM"};
+            final double[] prices = new double[symbols.length];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = 10 + random.nextDouble() * 990;
+            }
+
+            final String[] values = new String[SIZE];
+            final StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < SIZE; i++) {
+                for (int j = 0; j < 3; j++) {
+                    prices[random.nextInt(prices.length)] += (random.nextInt(41) - 20) / 100.0;
+                }
+                sb.setLength(0);
+                for (int j = 0; j < symbols.length; j++) {
+                    if (j > 0) {
+                        sb.append("  \u2022  ");
+                    }
+                    sb.append(symbols[j]).append(' ')
+                            .append(String.format(Locale.US, "%.2f", prices[j]));
+                }
+                values[i] = sb.toString();
+            }
+            return values;
+        }
+    },
+    /** Flags, ZWJ sequences and skin tone modifiers next to changing numbers. */
+    EMOJI {
+        @Override
+        String[] generate(Random random) {
+            final String[] emoji = {
+                    "\uD83C\uDDFA\uD83C\uDDF8", // US flag
+                    "\uD83C\uDDEF\uD83C\uDDF5", // Japan flag
+                    "\uD83C\uDDEC\uD83C\uDDE7", // UK flag
+                    "\uD83D\uDC68\u200D\uD83D\uDC69\u200D\uD83D\uDC67", // family ZWJ sequence
+                    "\uD83C\uDFF3\uFE0F\u200D\uD83C\uDF08", // rainbow flag ZWJ sequence
+                    "\uD83D\uDC4D\uD83C\uDFFD", // thumbs up with skin tone
+                    "\uD83D\uDE80", // rocket
+            };
+            final String[] values = new String[SIZE];
+            for (int i = 0; i < SIZE; i++) {
+                values[i] = emoji[random.nextInt(emoji.length)] + " "
+                        + String.format(Locale.US, "%+.1f%%", (random.nextInt(201) - 100) / 10.0)
+                        + " " + emoji[random.nextInt(emoji.length)];
+            }
+            return values;
+        }
+    };
+
+    /** The number of updates in each dataset, a power of two so that indices wrap cheaply. */
+    static final int SIZE = 1024;
+
+    abstract String[] generate(Random random);
+
+    /**
+     * @return the updates of this dataset.
+     */
+    String[] updates() {
+        return generate(new Random(42));
+    }
+
+    /**
+     * @return the updates of this dataset, each split into the characters of its columns.
+     */
+    CharSequence[][] characters() {
+        final String[] values = updates();
+        final CharSequence[][] characters = new CharSequence[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            characters[i] = LevenshteinUtils.toCharArrayOfArray(values[i]);
+        }
+        return characters;
+    }
+}
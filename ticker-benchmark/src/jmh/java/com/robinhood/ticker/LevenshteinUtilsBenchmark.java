@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+
+/**
+ * Benchmarks splitting text into columns and diffing consecutive updates of each dataset.
+ */
+@State(Scope.Thread)
+public class LevenshteinUtilsBenchmark {
+    @Param
+    public BenchmarkData dataset;
+
+    private String[] values;
+    private CharSequence[][] characters;
+    private Set<CharSequence> supportedCharacters;
+    private int index;
+
+    @Setup
+    public void setup() {
+        values = dataset.updates();
+        characters = dataset.characters();
+        supportedCharacters = TickerColumnManager.getSupportedCharacters(
+                new TickerCharacterList[]{new TickerCharacterList(TickerUtils.provideNumberList())});
+    }
+
+    @Benchmark
+    public int[] computeColumnActions() {
+        final int i = index;
+        index = (i + 1) & (BenchmarkData.SIZE - 1);
+        return LevenshteinUtils.computeColumnActions(characters[i], characters[index],
+                supportedCharacters);
+    }
+
+    @Benchmark
+    public CharSequence[] toCharArrayOfArray() {
+        index = (index + 1) & (BenchmarkData.SIZE - 1);
+        return LevenshteinUtils.toCharArrayOfArray(values[index]);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+/**
+ * A {@link TickerCanvas} that only tallies what would have been drawn, so that the draw
+ * benchmark measures the engine rather than a graphics stack.
+ */
+final class StubTickerCanvas implements TickerCanvas {
+    int drawnCharacters;
+    float x;
+    private int alpha = 255;
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y) {
+        drawnCharacters += end - start;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        x += dx;
+    }
+
+    @Override
+    public int getAlpha() {
+        return alpha;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        this.alpha = alpha;
+    }
+}
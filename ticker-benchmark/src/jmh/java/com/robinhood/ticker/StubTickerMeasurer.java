@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.robinhood.ticker;
+
+/**
+ * A {@link CachingTickerMeasurer} whose paint is stubbed out: every character is as wide as
+ * its length, which keeps the cost of measuring text on a paint out of the benchmarks while the
+ * width table, its generation checks and the shared {@link TickerWidthCache} run as they do in
+ * the views.
+ */
+final class StubTickerMeasurer extends CachingTickerMeasurer {
+    // All stub measurers measure text the same way, so they share their widths.
+    private static final Object WIDTH_SIGNATURE = new Object();
+
+    StubTickerMeasurer(TickerWidthCache sharedWidthCache) {
+        super(sharedWidthCache);
+    }
+
+    @Override
+    float measureText(CharSequence text, int start, int end) {
+        return 10f * (end - start);
+    }
+
+    @Override
+    float measureText(char[] text, int index, int count) {
+        return 10f * count;
+    }
+
+    @Override
+    Object getWidthSignature() {
+        return WIDTH_SIGNATURE;
+    }
+
+    @Override
+    TickerWidthCache.CharMeasurer createPrewarmMeasurer() {
+        return new TickerWidthCache.CharMeasurer() {
+            @Override
+            public float measureChar(char[] chars, int index) {
+                return 10f;
+            }
+        };
+    }
+
+    @Override
+    public float getCharHeight() {
+        return 20f;
+    }
+
+    @Override
+    public int getPreferredScrollingDirection() {
+        return TickerCharacterList.DIRECTION_ANY;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmarks looking up the scroll range of a column, using the digits that change between
+ * consecutive updates of each dataset.
+ */
+@State(Scope.Thread)
+public class TickerCharacterListBenchmark {
+    @Param
+    public BenchmarkData dataset;
+
+    @Param({"0", "1", "2"})
+    public int direction;
+
+    private TickerCharacterList characterList;
+    private CharSequence[] starts, ends;
+    private int index;
+
+    @Setup
+    public void setup() {
+        characterList = new TickerCharacterList(TickerUtils.provideNumberList());
+
+        final CharSequence[][] characters = dataset.characters();
+        final List<CharSequence> starts = new ArrayList<>();
+        final List<CharSequence> ends = new ArrayList<>();
+        for (int i = 0; i + 1 < characters.length; i++) {
+            final int length = Math.min(characters[i].length, characters[i + 1].length);
+            for (int j = 0; j < length; j++) {
+                if (characterList.contains(characters[i][j])
+                        && characterList.contains(characters[i + 1][j])) {
+                    starts.add(characters[i][j]);
+                    ends.add(characters[i + 1][j]);
+                }
+            }
+        }
+        this.starts = starts.toArray(new CharSequence[0]);
+        this.ends = ends.toArray(new CharSequence[0]);
+    }
+
+    @Benchmark
+    public Object getCharacterIndices() {
+        final int i = index;
+        index = i + 1 < starts.length ? i + 1 : 0;
+        return characterList.getCharacterIndices(starts[i], ends[i], direction);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the work {@link TickerColumnManager} does for each update and each frame, against
+ * the real width caching with a stubbed paint and a stub canvas, so that only the engine itself
+ * is measured.
+ */
+@State(Scope.Thread)
+public class TickerColumnManagerBenchmark {
+    // The progress step of a 350ms animation at 60 frames per second.
+    private static final float FRAME_PROGRESS = 1000f / 60 / 350;
+
+    @Param
+    public BenchmarkData dataset;
+
+    private String[] values;
+    private CharSequence[][] characters;
+    private StubTickerMeasurer measurer;
+    private StubTickerCanvas canvas;
+    private TickerColumnManager manager;
+    // Settled on the first update, for the benchmarks that need the columns at rest.
+    private TickerColumnManager settledManager;
+    private int index;
+    private float progress;
+
+    @Setup
+    public void setup() {
+        values = dataset.updates();
+        characters = dataset.characters();
+        // Without an executor, so that nothing is measured in the background
+        measurer = new StubTickerMeasurer(new TickerWidthCache(1));
+        canvas = new StubTickerCanvas();
+        manager = new TickerColumnManager(measurer);
+        manager.setCharacterLists(TickerUtils.provideNumberList());
+
+        // Leave an animation between the first two updates in flight for the frame benchmarks
+        manager.setText(characters[0]);
+        manager.setAnimationProgress(1f);
+        manager.onAnimationEnd();
+        manager.setText(characters[1]);
+
+        settledManager = new TickerColumnManager(measurer);
+        settledManager.setCharacterLists(TickerUtils.provideNumberList());
+        settledManager.setText(characters[0]);
+        settledManager.setAnimationProgress(1f);
+        settledManager.onAnimationEnd();
+    }
+
+    /**
+     * A complete update of already segmented text: diffing, retargeting the columns and
+     * settling them on the new text.
+     */
+    @Benchmark
+    public float setText() {
+        index = (index + 1) & (BenchmarkData.SIZE - 1);
+        settledManager.setText(characters[index]);
+        settledManager.setAnimationProgress(1f);
+        settledManager.onAnimationEnd();
+        return settledManager.getCurrentWidth();
+    }
+
+    /**
+     * Like {@link #setText()}, but also segments the raw text into columns.
+     */
+    @Benchmark
+    public float setRawText() {
+        index = (index + 1) & (BenchmarkData.SIZE - 1);
+        settledManager.setText(values[index]);
+        settledManager.setAnimationProgress(1f);
+        settledManager.onAnimationEnd();
+        return settledManager.getCurrentWidth();
+    }
+
+    /**
+     * A single animation frame of a running animation.
+     */
+    @Benchmark
+    public float setAnimationProgress() {
+        progress += FRAME_PROGRESS;
+        if (progress >= 1f) {
+            progress = 0f;
+        }
+        manager.setAnimationProgress(progress);
+        return manager.getCurrentWidth();
+    }
+
+    /**
+     * Drawing every column of a running animation.
+     */
+    @Benchmark
+    public int draw() {
+        canvas.drawnCharacters = 0;
+        canvas.x = 0f;
+        manager.draw(canvas);
+        return canvas.drawnCharacters;
+    }
+
+    /**
+     * Looking up the width of every column again after the measurements changed, e.g. because
+     * the text size changed.
+     */
+    @Benchmark
+    public float remeasure() {
+        measurer.invalidate();
+        settledManager.onAnimationEnd();
+        return settledManager.getMinimumRequiredWidth();
+    }
+}
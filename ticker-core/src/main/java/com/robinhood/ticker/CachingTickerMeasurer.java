@@ -0,0 +1,326 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link TickerMeasurer} that caches the widths it measures until it is invalidated, and
+ * shares them with other measurers of the same style through a {@link TickerWidthCache}.
+ * Subclasses only provide the actual text measurement, e.g. on a paint.
+ */
+abstract class CachingTickerMeasurer implements TickerMeasurer {
+    // Single characters below this value have their widths stored in a flat primitive table
+    // rather than in the map, which covers digits, latin letters and common punctuation.
+    static final int CHAR_WIDTH_TABLE_SIZE = 256;
+
+    // Widths shared with every other measurer with the same style signature. This is consulted
+    // whenever the local cache below misses, and may be null.
+    private final TickerWidthCache sharedWidthCache;
+    private TickerWidthCache.StyleWidths sharedWidths;
+
+    // A cached width is only valid if its generation matches the current generation, which
+    // allows us to invalidate all of the cached widths by simply bumping the generation.
+    private final float[] charWidthTable = new float[CHAR_WIDTH_TABLE_SIZE];
+    private final int[] charWidthTableGenerations = new int[CHAR_WIDTH_TABLE_SIZE];
+    private final Map<CharSequence, Float> charWidths = new HashMap<>(256);
+    private int generation, charWidthsGeneration;
+
+    // The single characters from the character lists. These are measured together in one pass
+    // the first time any width is needed after an invalidation, which usually finds them in the
+    // shared cache already, see prewarmCharacterLists. Each character is measured on its own,
+    // like any other single character, so that kerning and ligatures between adjacent list
+    // characters never leak into the widths.
+    private char[] characterListChars = new char[0];
+    private float[] characterListWidths = new float[0];
+    private int characterListGeneration;
+    private float characterListMaxWidth;
+    // Whether all of the single characters from the character lists should share the width of
+    // the widest one, which makes the columns fixed-width like tabular figures.
+    private boolean uniformCharacterListWidth;
+    // Whether the shared widths and anything else that subclasses fetch in validate() need to
+    // be fetched again. They are only fetched once they are needed, so that setting up a
+    // measurer is cheap.
+    private boolean stale;
+
+    // Per-ticker counters on top of the global ones, may be null.
+    private TickerStats stats;
+    // The number of times text was measured, used to tell cache hits from misses.
+    private int measureTextCalls;
+
+    CachingTickerMeasurer(TickerWidthCache sharedWidthCache) {
+        this.sharedWidthCache = sharedWidthCache;
+        generation++;
+        stale = true;
+    }
+
+    /**
+     * @return the width of the given range of {@code text}.
+     */
+    abstract float measureText(CharSequence text, int start, int end);
+
+    /**
+     * @return the width of the given range of {@code text}.
+     */
+    abstract float measureText(char[] text, int index, int count);
+
+    /**
+     * @return a signature of the current style that equals the signature of any other measurer
+     *         that measures text the same way. Only called if there is a shared width cache.
+     */
+    abstract Object getWidthSignature();
+
+    /**
+     * @return a measurer for the current style that may be used on another thread. Only called
+     *         if the shared width cache measures in the background.
+     */
+    abstract TickerWidthCache.CharMeasurer createPrewarmMeasurer();
+
+    /**
+     * @return whether {@code character} can be measured as plain text and its width shared with
+     *         other measurers, as opposed to e.g. text with spans.
+     */
+    boolean isPlainText(CharSequence character) {
+        return true;
+    }
+
+    /**
+     * Measures text that isn't {@link #isPlainText(CharSequence) plain}. Implementations need to
+     * call {@link #onMeasureText()} for every measurement they make.
+     */
+    float measureStyledText(CharSequence character) {
+        final float width = measureText(character, 0, character.length());
+        onMeasureText();
+        return width;
+    }
+
+    final void onMeasureText() {
+        measureTextCalls++;
+        TickerStats.record(stats, TickerStats.Counter.MEASURE_TEXT_CALLS);
+    }
+
+    void invalidate() {
+        generation++;
+        stale = true;
+        prewarmCharacterLists();
+    }
+
+    /**
+     * Fetches anything that was invalidated, subclasses must call through to this method.
+     */
+    void validate() {
+        stale = false;
+        if (sharedWidthCache != null) {
+            sharedWidths = sharedWidthCache.getStyleWidths(getWidthSignature());
+        }
+    }
+
+    final void validateIfStale() {
+        if (stale) validate();
+    }
+
+    /**
+     * Has the shared cache measure the characters of the character lists with the current
+     * style in the background, so that the first animation after the lists or the style
+     * changed doesn't need to measure them on the main thread.
+     */
+    private void prewarmCharacterLists() {
+        if (sharedWidthCache != null && sharedWidthCache.isPrewarming()
+                && characterListChars.length > 0) {
+            sharedWidthCache.prewarmCharWidths(getWidthSignature(), characterListChars,
+                    createPrewarmMeasurer());
+        }
+    }
+
+    /**
+     * Registers the characters from {@code characterLists} to be measured in a single pass
+     * rather than individually as each column targets them, and starts measuring them into the
+     * shared cache in the background.
+     */
+    @Override
+    public void setCharacterLists(TickerCharacterList[] characterLists) {
+        final boolean[] seen = new boolean[CHAR_WIDTH_TABLE_SIZE];
+        final StringBuilder chars = new StringBuilder();
+        for (TickerCharacterList characterList : characterLists) {
+            for (CharSequence character : characterList.getCharacterList()) {
+                if (character.length() == 1 && isPlainText(character)) {
+                    final char c = character.charAt(0);
+                    // Skip TickerUtils.EMPTY_CHAR which is always zero-width
+                    if (c != 0 && c < CHAR_WIDTH_TABLE_SIZE && !seen[c]) {
+                        seen[c] = true;
+                        chars.append(c);
+                    }
+                }
+            }
+        }
+
+        characterListChars = new char[chars.length()];
+        chars.getChars(0, chars.length(), characterListChars, 0);
+        characterListWidths = new float[characterListChars.length];
+        characterListGeneration = generation - 1;
+        prewarmCharacterLists();
+    }
+
+    void setStats(TickerStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public float getCharWidth(CharSequence character) {
+        validateIfStale();
+        final int previousMeasureTextCalls = measureTextCalls;
+        final float width = lookUpCharWidth(character);
+        TickerStats.record(stats, TickerStats.Counter.WIDTH_LOOKUPS);
+        if (measureTextCalls != previousMeasureTextCalls) {
+            TickerStats.record(stats, TickerStats.Counter.WIDTH_CACHE_MISSES);
+        }
+        return width;
+    }
+
+    private float lookUpCharWidth(CharSequence character) {
+        final boolean plainText = isPlainText(character);
+        if (character.length() == 1 && plainText) {
+            final char c = character.charAt(0);
+            if (c < CHAR_WIDTH_TABLE_SIZE) {
+                return getSingleCharWidth(character, c);
+            }
+        }
+
+        if (LevenshteinUtils.equalsCharArrays(character, TickerUtils.EMPTY_CHAR)) {
+            return 0;
+        }
+
+        // The map is only cleared lazily the first time it is accessed after an invalidation.
+        if (charWidthsGeneration != generation) {
+            charWidths.clear();
+            charWidthsGeneration = generation;
+        }
+
+        // This method will lazily initialize the char width map.
+        final Float value = charWidths.get(character);
+        if (value != null) {
+            return value;
+        }
+
+        float width;
+        if (!plainText) {
+            // The widths of styled text can't be shared.
+            width = measureStyledText(character);
+        } else {
+            width = sharedWidths != null ? sharedWidths.getTokenWidth(character) : Float.NaN;
+            if (Float.isNaN(width)) {
+                width = measureText(character, 0, character.length());
+                onMeasureText();
+                if (sharedWidths != null) {
+                    sharedWidths.putTokenWidth(character, width);
+                }
+            }
+        }
+        charWidths.put(character, width);
+        return width;
+    }
+
+    private float getSingleCharWidth(CharSequence character, char c) {
+        if (c == 0) {
+            // TickerUtils.EMPTY_CHAR
+            return 0;
+        }
+
+        if (charWidthTableGenerations[c] != generation && characterListGeneration != generation) {
+            measureCharacterLists();
+        }
+
+        if (charWidthTableGenerations[c] != generation) {
+            float width = sharedWidths != null ? sharedWidths.getCharWidth(c) : Float.NaN;
+            if (Float.isNaN(width)) {
+                width = measureText(character, 0, 1);
+                onMeasureText();
+                if (sharedWidths != null) {
+                    sharedWidths.putCharWidth(c, width);
+                }
+            }
+            charWidthTable[c] = width;
+            charWidthTableGenerations[c] = generation;
+        }
+        return charWidthTable[c];
+    }
+
+    private void measureCharacterLists() {
+        characterListGeneration = generation;
+        final int count = characterListChars.length;
+        if (count == 0) {
+            characterListMaxWidth = 0f;
+            return;
+        }
+
+        float maxWidth = 0f;
+        for (int i = 0; i < count; i++) {
+            final char c = characterListChars[i];
+            float width = sharedWidths != null ? sharedWidths.getCharWidth(c) : Float.NaN;
+            if (Float.isNaN(width)) {
+                width = measureText(characterListChars, i, 1);
+                onMeasureText();
+                if (sharedWidths != null) {
+                    sharedWidths.putCharWidth(c, width);
+                }
+            }
+            characterListWidths[i] = width;
+            maxWidth = Math.max(maxWidth, width);
+        }
+        characterListMaxWidth = maxWidth;
+
+        for (int i = 0; i < count; i++) {
+            final char c = characterListChars[i];
+            charWidthTable[c] = uniformCharacterListWidth ? maxWidth : characterListWidths[i];
+            charWidthTableGenerations[c] = generation;
+        }
+    }
+
+    /**
+     * @return the width of the widest single character in the character lists.
+     */
+    @Override
+    public float getCharacterListMaxWidth() {
+        validateIfStale();
+        if (characterListGeneration != generation) {
+            measureCharacterLists();
+        }
+        return characterListMaxWidth;
+    }
+
+    boolean isUniformCharacterListWidth() {
+        return uniformCharacterListWidth;
+    }
+
+    /**
+     * Sets whether the single characters in the character lists should all be measured as wide
+     * as the widest one. Callers are responsible for invalidating the measurer afterwards.
+     */
+    void setUniformCharacterListWidth(boolean uniformCharacterListWidth) {
+        this.uniformCharacterListWidth = uniformCharacterListWidth;
+    }
+
+    /**
+     * @return a number that changes every time the measurer is invalidated, so that callers can
+     *         cheaply tell whether any previously returned widths might be stale.
+     */
+    @Override
+    public int getGeneration() {
+        return generation;
+    }
+}
@@ -16,9 +16,6 @@
 
 package com.robinhood.ticker;
 
-import android.text.GetChars;
-import android.text.TextUtils;
-
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -49,6 +46,16 @@ public class LevenshteinUtils {
      */
     public static int[] computeColumnActions(CharSequence[] source, CharSequence[] target,
                                              Set<CharSequence> supportedCharacters) {
+        return computeColumnActions(source, target, supportedCharacters, null);
+    }
+
+    /**
+     * Similar to {@link #computeColumnActions(CharSequence[], CharSequence[], Set)} but also
+     * records the work done into {@param stats}, see {@link TickerStats}.
+     */
+    static int[] computeColumnActions(CharSequence[] source, CharSequence[] target,
+                                      Set<CharSequence> supportedCharacters, TickerStats stats) {
+        TickerStats.record(stats, TickerStats.Counter.DIFFS);
         int sourceIndex = 0;
         int targetIndex = 0;
 
@@ -84,7 +91,8 @@ public class LevenshteinUtils {
                         sourceIndex,
                         sourceEndIndex,
                         targetIndex,
-                        targetEndIndex
+                        targetEndIndex,
+                        stats
                 );
                 sourceIndex = sourceEndIndex;
                 targetIndex = targetEndIndex;
@@ -141,6 +149,7 @@ public class LevenshteinUtils {
      * @param sourceEnd     the end index of source to compute column actions (exclusive)
      * @param targetStart   the start index of target to compute column actions (inclusive)
      * @param targetEnd     the end index of target to compute column actions (exclusive)
+     * @param stats         the stats to record the work done into, may be null
      */
     private static void appendColumnActionsForSegment(
             List<Integer> columnActions,
@@ -149,7 +158,8 @@ public class LevenshteinUtils {
             int sourceStart,
             int sourceEnd,
             int targetStart,
-            int targetEnd
+            int targetEnd,
+            TickerStats stats
     ) {
         final int sourceLength = sourceEnd - sourceStart;
         final int targetLength = targetEnd - targetStart;
@@ -158,11 +168,13 @@ public class LevenshteinUtils {
         if (sourceLength == targetLength) {
             // No modifications needed if the length of the strings are the same
             fillWithActions(columnActions, resultLength, ACTION_SAME);
+            TickerStats.record(stats, TickerStats.Counter.DIFF_FAST_PATHS);
             return;
         }
 
         final int numRows = sourceLength + 1;
         final int numCols = targetLength + 1;
+        TickerStats.record(stats, TickerStats.Counter.DIFF_CELLS, (long) numRows * numCols);
 
         // Compute the Levenshtein matrix
         final int[][] matrix = new int[numRows][numCols];
@@ -373,8 +385,6 @@ public class LevenshteinUtils {
             ((StringBuffer) s).getChars(start, end, dest, destoff);
         else if (c == StringBuilder.class)
             ((StringBuilder) s).getChars(start, end, dest, destoff);
-        else if (s instanceof GetChars)
-            ((GetChars) s).getChars(start, end, dest, destoff);
         else {
             for (int i = start; i < end; i++)
                 dest[destoff++] = s.charAt(i);
@@ -397,7 +407,7 @@ public class LevenshteinUtils {
     public static int indexOf(CharSequence s, char ch, int start, int end) {
         Class<? extends CharSequence> c = s.getClass();
 
-        if (s instanceof GetChars || c == StringBuffer.class ||
+        if (c == StringBuffer.class ||
                 c == StringBuilder.class || c == String.class) {
             final int INDEX_INCREMENT = 500;
             char[] temp = new char[INDEX_INCREMENT];
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+/**
+ * The drawing operations that {@link TickerColumnManager} and {@link TickerColumn} render
+ * through, so that the ticker engine doesn't depend on any particular graphics stack.
+ */
+interface TickerCanvas {
+    /**
+     * Draws the text in the range [start, end) with its baseline at the given position.
+     */
+    void drawText(CharSequence text, int start, int end, float x, float y);
+
+    /**
+     * Moves the origin of all subsequent drawing operations.
+     */
+    void translate(float dx, float dy);
+
+    /**
+     * @return the alpha, between 0 and 255, that text is currently drawn with.
+     */
+    int getAlpha();
+
+    void setAlpha(int alpha);
+}
@@ -16,8 +16,6 @@
 
 package com.robinhood.ticker;
 
-import android.text.TextUtils;
-
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -34,6 +32,11 @@ import java.util.Set;
  * @author Jin Cao, Robinhood
  */
 class TickerCharacterList {
+    // Scrolling directions, see TickerView.ScrollingDirection.
+    static final int DIRECTION_ANY = 0;
+    static final int DIRECTION_UP = 1;
+    static final int DIRECTION_DOWN = 2;
+
     private final int numOriginalCharacters;
     // The saved character list will always be of the format: EMPTY, list, list
     private final CharSequence[] characterList;
@@ -65,10 +68,11 @@ class TickerCharacterList {
     /**
      * @param start the character that we want to animate from
      * @param end the character that we want to animate to
-     * @param direction the preferred {@Link TickerView#ScrollingDirection}
+     * @param direction the preferred scrolling direction, one of {@link #DIRECTION_ANY},
+     *                  {@link #DIRECTION_UP} or {@link #DIRECTION_DOWN}
      * @return a valid pair of start and end indices, or null if the inputs are not supported.
      */
-    CharacterIndices getCharacterIndices(CharSequence start, CharSequence end, TickerView.ScrollingDirection direction) {
+    CharacterIndices getCharacterIndices(CharSequence start, CharSequence end, int direction) {
         int startIndex = getIndexOfChar(start);
         int endIndex = getIndexOfChar(end);
 
@@ -77,7 +81,7 @@ class TickerCharacterList {
         }
 
         switch (direction) {
-            case DOWN:
+            case DIRECTION_DOWN:
                 if (LevenshteinUtils.equalsCharArrays(end, TickerUtils.EMPTY_CHAR)) {
                     endIndex = characterList.length;
                 } else if (endIndex < startIndex) {
@@ -85,13 +89,13 @@ class TickerCharacterList {
                 }
 
                 break;
-            case UP:
+            case DIRECTION_UP:
                 if (startIndex < endIndex) {
                     startIndex += numOriginalCharacters;
                 }
 
                 break;
-            case ANY:
+            case DIRECTION_ANY:
                 // see if the wrap-around animation is shorter distance than the original animation
                 if (start != TickerUtils.EMPTY_CHAR && end != TickerUtils.EMPTY_CHAR) {
                     if (endIndex < startIndex) {
@@ -121,6 +125,13 @@ class TickerCharacterList {
        return characterIndicesMap.keySet();
     }
 
+    /**
+     * @return whether {@param c} is one of the characters in this list.
+     */
+    boolean contains(CharSequence c) {
+        return getIndexOfChar(c) > 0;
+    }
+
     CharSequence[] getCharacterList() {
         return characterList;
     }
@@ -16,12 +16,6 @@
 
 package com.robinhood.ticker;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
-import android.text.Spannable;
-import android.text.SpannableString;
-import android.text.style.ReplacementSpan;
-
 /**
  * Represents a column of characters to be drawn on the screen. This class primarily handles
  * animating within the column from one character to the next and drawing all of the intermediate
@@ -31,7 +25,7 @@ import android.text.style.ReplacementSpan;
  */
 class TickerColumn {
     private TickerCharacterList[] characterLists;
-    private final TickerDrawMetrics metrics;
+    private final TickerMeasurer metrics;
 
     private CharSequence currentChar = TickerUtils.EMPTY_CHAR;
     private CharSequence targetChar = TickerUtils.EMPTY_CHAR;
@@ -50,6 +44,11 @@ class TickerColumn {
 
     // Drawing state variables for handling size transition
     private float sourceWidth, currentWidth, targetWidth, minimumRequiredWidth;
+    // The generation of the draw metrics that targetWidth was last validated against.
+    private int metricsGeneration;
+    // Whether the column currently shows characters from the character lists, in which case
+    // it can reserve the width of the widest character in the lists.
+    private boolean reservesCharacterListWidth;
 
     // The bottom delta variables signifies the vertical offset that the bottom drawn character
     // is seeing. If the delta is 0, it means that the character is perfectly centered. If the
@@ -60,7 +59,11 @@ class TickerColumn {
     private float previousBottomDelta;
     private int directionAdjustment;
 
-    TickerColumn(TickerCharacterList[] characterLists, TickerDrawMetrics metrics) {
+    // Whether the column fades between the start and target characters instead of scrolling.
+    private boolean crossFade;
+    private float animationProgress;
+
+    TickerColumn(TickerCharacterList[] characterLists, TickerMeasurer metrics) {
         this.characterLists = characterLists;
         this.metrics = metrics;
     }
@@ -82,7 +85,10 @@ class TickerColumn {
         this.targetChar = targetChar;
         this.sourceWidth = this.currentWidth;
         this.targetWidth = metrics.getCharWidth(targetChar);
+        this.metricsGeneration = metrics.getGeneration();
         this.minimumRequiredWidth = Math.max(this.sourceWidth, this.targetWidth);
+        this.reservesCharacterListWidth = isInCharacterLists(currentChar)
+                || isInCharacterLists(targetChar);
 
         // Calculate the current indices
         setCharacterIndices();
@@ -97,6 +103,47 @@ class TickerColumn {
         currentBottomDelta = 0f;
     }
 
+    /**
+     * Sets whether the animation started by the next {@link #setTargetChar(CharSequence)}
+     * cross-fades between the current and target characters instead of scrolling through the
+     * characters in between.
+     */
+    void setCrossFade(boolean crossFade) {
+        this.crossFade = crossFade;
+    }
+
+    /**
+     * Immediately shows {@param c} without any animation, discarding the state of any running
+     * or interrupted animation.
+     */
+    void snapToChar(CharSequence c) {
+        currentChar = targetChar = c;
+        sourceWidth = currentWidth = targetWidth = minimumRequiredWidth = metrics.getCharWidth(c);
+        metricsGeneration = metrics.getGeneration();
+        reservesCharacterListWidth = isInCharacterLists(c);
+        crossFade = false;
+        currentBottomDelta = previousBottomDelta = 0f;
+
+        setCharacterIndices();
+        directionAdjustment = 1;
+        setAnimationProgress(1f);
+    }
+
+    /**
+     * @return whether the characters in this column move over the course of the current
+     *         animation.
+     */
+    boolean isAnimating() {
+        return startIndex != endIndex || previousBottomDelta != 0f;
+    }
+
+    /**
+     * @return whether the width of this column changes over the course of the current animation.
+     */
+    boolean isWidthAnimating() {
+        return sourceWidth != targetWidth;
+    }
+
     CharSequence getCurrentChar() {
         return currentChar;
     }
@@ -115,6 +162,26 @@ class TickerColumn {
         return minimumRequiredWidth;
     }
 
+    /**
+     * @return the width that this column needs so that it never has to grow when animating
+     *         between any of the characters in the character lists.
+     */
+    float getReservedWidth() {
+        final float minimumRequiredWidth = getMinimumRequiredWidth();
+        return reservesCharacterListWidth
+                ? Math.max(minimumRequiredWidth, metrics.getCharacterListMaxWidth())
+                : minimumRequiredWidth;
+    }
+
+    private boolean isInCharacterLists(CharSequence c) {
+        for (int i = 0; i < characterLists.length; i++) {
+            if (characterLists[i].contains(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * A helper method for populating {@link #startIndex} and {@link #endIndex} given the
      * current and target characters for the animation.
@@ -149,14 +216,19 @@ class TickerColumn {
     void onAnimationEnd() {
         checkForDrawMetricsChanges();
         minimumRequiredWidth = currentWidth;
+        reservesCharacterListWidth = isInCharacterLists(targetChar);
     }
 
     private void checkForDrawMetricsChanges() {
-        final float currentTargetWidth = metrics.getCharWidth(targetChar);
+        final int generation = metrics.getGeneration();
         // Only resize due to DrawMetrics changes when we are done with whatever animation we
         // are running.
-        if (currentWidth == targetWidth && targetWidth != currentTargetWidth) {
-            this.minimumRequiredWidth = this.currentWidth = this.targetWidth = currentTargetWidth;
+        if (metricsGeneration != generation && currentWidth == targetWidth) {
+            final float currentTargetWidth = metrics.getCharWidth(targetChar);
+            if (targetWidth != currentTargetWidth) {
+                this.minimumRequiredWidth = this.currentWidth = this.targetWidth = currentTargetWidth;
+            }
+            metricsGeneration = generation;
         }
     }
 
@@ -208,6 +280,7 @@ class TickerColumn {
         bottomCharIndex = startIndex + ((int) bottomCharPosition * directionAdjustment);
 
         this.charHeight = charHeight;
+        this.animationProgress = animationProgress;
         this.currentWidth = sourceWidth + (targetWidth - sourceWidth) * animationProgress;
     }
 
@@ -216,9 +289,17 @@ class TickerColumn {
      * to another. This method will take into account various factors such as animation
      * progress and the previously interrupted animation state to render the characters
      * in the correct position on the canvas.
+     *
+     * @return the number of characters drawn.
      */
-    void draw(Canvas canvas, Paint textPaint) {
-        if (drawText(canvas, textPaint, currentCharacterList, bottomCharIndex, bottomDelta)) {
+    int draw(TickerCanvas canvas) {
+        if (crossFade && startIndex != endIndex) {
+            return drawCrossFade(canvas);
+        }
+
+        int drawn = 0;
+        if (drawText(canvas, currentCharacterList, bottomCharIndex, bottomDelta)) {
+            drawn++;
             // Save the current drawing state in case our animation gets interrupted
             if (bottomCharIndex >= 0) {
                 currentChar = currentCharacterList[bottomCharIndex];
@@ -227,47 +308,56 @@ class TickerColumn {
         }
 
         // Draw the corresponding top and bottom characters if applicable
-        drawText(canvas, textPaint, currentCharacterList, bottomCharIndex + 1,
-                bottomDelta - charHeight);
+        if (drawText(canvas, currentCharacterList, bottomCharIndex + 1,
+                bottomDelta - charHeight)) {
+            drawn++;
+        }
         // Drawing the bottom character here might seem counter-intuitive because we've been
         // computing for the bottom character this entire time. But the bottom character
         // computed above might actually be above the baseline if we interrupted a previous
         // animation that gave us a positive additionalDelta.
-        drawText(canvas, textPaint, currentCharacterList, bottomCharIndex - 1,
-                bottomDelta + charHeight);
+        if (drawText(canvas, currentCharacterList, bottomCharIndex - 1,
+                bottomDelta + charHeight)) {
+            drawn++;
+        }
+        return drawn;
+    }
+
+    /**
+     * Draws the start and target characters on top of each other, fading from one to the other.
+     * Any offset left over from an interrupted animation is dropped.
+     */
+    private int drawCrossFade(TickerCanvas canvas) {
+        final int alpha = canvas.getAlpha();
+        final int startAlpha = Math.round(alpha * (1f - animationProgress));
+        final int endAlpha = alpha - startAlpha;
+        int drawn = 0;
+        if (startAlpha > 0) {
+            canvas.setAlpha(startAlpha);
+            drawText(canvas, currentCharacterList, startIndex, 0f);
+            drawn++;
+        }
+        if (endAlpha > 0) {
+            canvas.setAlpha(endAlpha);
+            drawText(canvas, currentCharacterList, endIndex, 0f);
+            drawn++;
+        }
+        canvas.setAlpha(alpha);
+
+        // Save the current drawing state in case our animation gets interrupted
+        currentChar = currentCharacterList[animationProgress < 0.5f ? startIndex : endIndex];
+        currentBottomDelta = 0f;
+        return drawn;
     }
 
     /**
      * @return whether the text was successfully drawn on the canvas
      */
-    private boolean drawText(Canvas canvas, Paint textPaint, CharSequence[] characterPlainList,
+    private boolean drawText(TickerCanvas canvas, CharSequence[] characterPlainList,
                              int index, float verticalOffset) {
         if (index >= 0 && index < characterPlainList.length) {
             CharSequence chars = characterPlainList[index];
-            if (chars instanceof Spannable) {
-                Spannable spannableChars = ((Spannable) chars);
-                int spanStart;
-                int spanStartNew;
-                int spanEnd = 0;
-                int spanEndNew;
-                ReplacementSpan[] emojiSpans = spannableChars.getSpans(0, spannableChars.length(), ReplacementSpan.class);
-                if (emojiSpans.length != 0) {
-                    for (ReplacementSpan span : emojiSpans) {
-                        spanStartNew = spannableChars.getSpanStart(span);
-                        spanEndNew = spannableChars.getSpanEnd(span);
-                        if (spanEnd != spanStartNew) {
-                            canvas.drawText(spannableChars, spanEnd, spanStartNew, 0f, verticalOffset, textPaint);
-                        }
-                        spanStart = spanStartNew;
-                        spanEnd = spanEndNew;
-                        span.draw(canvas, spannableChars, spanStart, spanEnd, 0f, 0, (int) verticalOffset, 0, textPaint);
-                    }
-                } else {
-                    canvas.drawText(chars, 0, chars.length(), 0f, verticalOffset, textPaint);
-                }
-            } else {
-                canvas.drawText(chars, 0, chars.length(), 0f, verticalOffset, textPaint);
-            }
+            canvas.drawText(chars, 0, chars.length(), 0f, verticalOffset);
             return true;
         }
         return false;
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In ticker, each character in the rendered text is represented by a {@link TickerColumn}. The
+ * column can be seen as a column of text in which we can animate from one character to the next
+ * by scrolling the column vertically. The {@link TickerColumnManager} is then a
+ * manager/convenience class for handling a list of {@link TickerColumn} which then combines into
+ * the entire string we are rendering.
+ *
+ * @author Jin Cao, Robinhood
+ */
+@SuppressWarnings("ForLoopReplaceableByForEach")
+class TickerColumnManager {
+    final ArrayList<TickerColumn> tickerColumns = new ArrayList<>();
+    private final TickerMeasurer metrics;
+
+    private TickerCharacterList[] characterLists;
+    private Set<CharSequence> supportedCharacters;
+
+    // Whether any column changes width during the current animation.
+    private boolean widthAnimating;
+    // The horizontal extent of the columns that move during the current animation. This is
+    // only meaningful if no column changes width, since the columns stay in place otherwise.
+    private float animatingLeft, animatingRight;
+    // Whether the columns cross-fade instead of scrolling in the animations that follow.
+    private boolean crossFade;
+
+    // Running totals of the column widths, summed up by the same loops that update the columns.
+    // They are only valid for the draw metrics generation that they were computed against, and
+    // are recomputed by updateWidths once that generation changes.
+    private float currentWidth, minimumRequiredWidth, reservedWidth;
+    private int widthsGeneration;
+
+    // Per-ticker counters on top of the global ones, may be null.
+    private TickerStats stats;
+
+    TickerColumnManager(TickerMeasurer metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the character lists that define how each character animates, see
+     * {@link TickerCharacterList}.
+     */
+    void setCharacterLists(String... characterLists) {
+        final TickerCharacterList[] lists = new TickerCharacterList[characterLists.length];
+        for (int i = 0; i < characterLists.length; i++) {
+            lists[i] = new TickerCharacterList(characterLists[i]);
+        }
+
+        metrics.setCharacterLists(lists);
+        setCharacterLists(lists, getSupportedCharacters(lists));
+    }
+
+    /**
+     * @return all characters that support custom animation in {@param characterLists}.
+     */
+    static Set<CharSequence> getSupportedCharacters(TickerCharacterList[] characterLists) {
+        final Set<CharSequence> supportedCharacters = new HashSet<>();
+        for (int i = 0; i < characterLists.length; i++) {
+            supportedCharacters.addAll(characterLists[i].getSupportedCharacters());
+        }
+        return supportedCharacters;
+    }
+
+    /**
+     * Shares character lists that were already set up by another manager, see
+     * {@link #getSupportedCharacters()}. Unlike {@link #setCharacterLists(String...)}, this
+     * doesn't register the lists with the measurer, so callers that don't share the measurer
+     * of that other manager need to call {@link TickerMeasurer#setCharacterLists} themselves.
+     */
+    void setCharacterLists(TickerCharacterList[] characterLists,
+                           Set<CharSequence> supportedCharacters) {
+        this.characterLists = characterLists;
+        this.supportedCharacters = supportedCharacters;
+
+        // Update character lists in current columns
+        for (TickerColumn tickerColumn : tickerColumns) {
+            tickerColumn.setCharacterLists(this.characterLists);
+        }
+    }
+
+    /**
+     * Sets whether the animations started by subsequent calls to {@link #setText} cross-fade
+     * between characters instead of scrolling.
+     */
+    void setCrossFade(boolean crossFade) {
+        this.crossFade = crossFade;
+    }
+
+    TickerCharacterList[] getCharacterLists() {
+        return characterLists;
+    }
+
+    Set<CharSequence> getSupportedCharacters() {
+        return supportedCharacters;
+    }
+
+    void setStats(TickerStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Tell the column manager the new target text that it should display.
+     */
+    void setText(CharSequence rawText) {
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.SEGMENT);
+        final CharSequence[] text = LevenshteinUtils.toCharArrayOfArray(rawText);
+        TickerTrace.endSection(TickerTrace.Phase.SEGMENT, section);
+        setText(text);
+    }
+
+    /**
+     * Similar to {@link #setText(CharSequence)} but takes text that has already been split into
+     * the characters for each column.
+     */
+    void setText(CharSequence[] text) {
+        if (characterLists == null) {
+            throw new IllegalStateException("Need to call #setCharacterLists first.");
+        }
+        // First remove any zero-width columns
+        for (int i = 0; i < tickerColumns.size(); ) {
+            final TickerColumn tickerColumn = tickerColumns.get(i);
+            if (tickerColumn.getCurrentWidth() > 0) {
+                i++;
+            } else {
+                tickerColumns.remove(i);
+            }
+        }
+
+        // Use Levenshtein distance algorithm to figure out how to manipulate the columns
+        long section = TickerTrace.beginSection(TickerTrace.Phase.DIFF);
+        final int[] actions = LevenshteinUtils.computeColumnActions(
+                getCurrentText(), text, supportedCharacters, stats
+        );
+        TickerTrace.endSection(TickerTrace.Phase.DIFF, section);
+
+        section = TickerTrace.beginSection(TickerTrace.Phase.RETARGET);
+        int columnIndex = 0;
+        int textIndex = 0;
+        widthAnimating = false;
+        float currentWidth = 0f;
+        float minimumRequiredWidth = 0f;
+        float reservedWidth = 0f;
+        for (int i = 0; i < actions.length; i++) {
+            switch (actions[i]) {
+                case LevenshteinUtils.ACTION_INSERT:
+                    tickerColumns.add(columnIndex,
+                            new TickerColumn(characterLists, metrics));
+                    TickerStats.record(stats, TickerStats.Counter.COLUMNS_CREATED);
+                    // Intentional fallthrough
+                case LevenshteinUtils.ACTION_SAME:
+                    tickerColumns.get(columnIndex).setCrossFade(crossFade);
+                    tickerColumns.get(columnIndex).setTargetChar(text[textIndex]);
+                    textIndex++;
+                    break;
+                case LevenshteinUtils.ACTION_DELETE:
+                    tickerColumns.get(columnIndex).setCrossFade(crossFade);
+                    tickerColumns.get(columnIndex).setTargetChar(TickerUtils.EMPTY_CHAR);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown action: " + actions[i]);
+            }
+
+            final TickerColumn column = tickerColumns.get(columnIndex);
+            widthAnimating |= column.isWidthAnimating();
+            currentWidth += column.getCurrentWidth();
+            minimumRequiredWidth += column.getMinimumRequiredWidth();
+            reservedWidth += column.getReservedWidth();
+            columnIndex++;
+        }
+
+        setWidths(currentWidth, minimumRequiredWidth, reservedWidth);
+        updateAnimatingExtent();
+        TickerTrace.endSection(TickerTrace.Phase.RETARGET, section);
+    }
+
+    /**
+     * Immediately shows {@param text} without diffing it against the current text. The existing
+     * columns are reused in place, which makes this suitable for rebinding recycled views.
+     */
+    void bindText(CharSequence[] text) {
+        if (characterLists == null) {
+            throw new IllegalStateException("Need to call #setCharacterLists first.");
+        }
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.RETARGET);
+        for (int i = tickerColumns.size() - 1; i >= text.length; i--) {
+            tickerColumns.remove(i);
+        }
+        TickerStats.record(stats, TickerStats.Counter.COLUMNS_RECYCLED, tickerColumns.size());
+        TickerStats.record(stats, TickerStats.Counter.COLUMNS_CREATED,
+                text.length - tickerColumns.size());
+        for (int i = tickerColumns.size(); i < text.length; i++) {
+            tickerColumns.add(new TickerColumn(characterLists, metrics));
+        }
+        float currentWidth = 0f;
+        float minimumRequiredWidth = 0f;
+        float reservedWidth = 0f;
+        for (int i = 0; i < text.length; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            column.snapToChar(text[i]);
+            currentWidth += column.getCurrentWidth();
+            minimumRequiredWidth += column.getMinimumRequiredWidth();
+            reservedWidth += column.getReservedWidth();
+        }
+
+        widthAnimating = false;
+        animatingLeft = animatingRight = 0f;
+        setWidths(currentWidth, minimumRequiredWidth, reservedWidth);
+        TickerTrace.endSection(TickerTrace.Phase.RETARGET, section);
+    }
+
+    private void updateAnimatingExtent() {
+        animatingLeft = animatingRight = 0f;
+        boolean found = false;
+        float x = 0f;
+        for (int i = 0, size = tickerColumns.size(); i < size; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            final float width = column.getCurrentWidth();
+            if (column.isAnimating()) {
+                if (!found) {
+                    animatingLeft = x;
+                    found = true;
+                }
+                animatingRight = x + width;
+            }
+            x += width;
+        }
+    }
+
+    void onAnimationEnd() {
+        widthAnimating = false;
+        float currentWidth = 0f;
+        float minimumRequiredWidth = 0f;
+        float reservedWidth = 0f;
+        for (int i = 0, size = tickerColumns.size(); i < size; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            column.onAnimationEnd();
+            currentWidth += column.getCurrentWidth();
+            minimumRequiredWidth += column.getMinimumRequiredWidth();
+            reservedWidth += column.getReservedWidth();
+        }
+        setWidths(currentWidth, minimumRequiredWidth, reservedWidth);
+    }
+
+    void setAnimationProgress(float animationProgress) {
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.PROGRESS);
+        float currentWidth = 0f;
+        float minimumRequiredWidth = 0f;
+        float reservedWidth = 0f;
+        for (int i = 0, size = tickerColumns.size(); i < size; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            column.setAnimationProgress(animationProgress);
+            currentWidth += column.getCurrentWidth();
+            minimumRequiredWidth += column.getMinimumRequiredWidth();
+            reservedWidth += column.getReservedWidth();
+        }
+        setWidths(currentWidth, minimumRequiredWidth, reservedWidth);
+        TickerTrace.endSection(TickerTrace.Phase.PROGRESS, section);
+    }
+
+    private void setWidths(float currentWidth, float minimumRequiredWidth, float reservedWidth) {
+        widthsGeneration = metrics.getGeneration();
+        this.currentWidth = currentWidth;
+        this.minimumRequiredWidth = minimumRequiredWidth;
+        this.reservedWidth = reservedWidth;
+    }
+
+    /**
+     * Recomputes the width totals from scratch after the draw metrics changed.
+     */
+    private void updateWidths() {
+        float currentWidth = 0f;
+        float minimumRequiredWidth = 0f;
+        float reservedWidth = 0f;
+        for (int i = 0, size = tickerColumns.size(); i < size; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            currentWidth += column.getCurrentWidth();
+            minimumRequiredWidth += column.getMinimumRequiredWidth();
+            reservedWidth += column.getReservedWidth();
+        }
+        setWidths(currentWidth, minimumRequiredWidth, reservedWidth);
+    }
+
+    /**
+     * @return whether the width of the text changes during the current animation. If it
+     *         doesn't, the measured width of the text stays constant for the entire animation.
+     */
+    boolean isWidthAnimating() {
+        return widthAnimating;
+    }
+
+    /**
+     * @return the left edge of the columns that move during the current animation, relative to
+     *         the start of the text. See {@link #isWidthAnimating()}.
+     */
+    float getAnimatingLeft() {
+        return animatingLeft;
+    }
+
+    /**
+     * @return the right edge of the columns that move during the current animation, relative to
+     *         the start of the text. See {@link #isWidthAnimating()}.
+     */
+    float getAnimatingRight() {
+        return animatingRight;
+    }
+
+    float getMinimumRequiredWidth() {
+        if (widthsGeneration != metrics.getGeneration()) {
+            updateWidths();
+        }
+        return minimumRequiredWidth;
+    }
+
+    /**
+     * @return the width needed to animate between any characters of the character lists in the
+     *         current columns without growing.
+     */
+    float getReservedWidth() {
+        if (widthsGeneration != metrics.getGeneration()) {
+            updateWidths();
+        }
+        return reservedWidth;
+    }
+
+    float getCurrentWidth() {
+        if (widthsGeneration != metrics.getGeneration()) {
+            updateWidths();
+        }
+        return currentWidth;
+    }
+
+    CharSequence[] getCurrentText() {
+        final int size = tickerColumns.size();
+        final CharSequence[] currentText = new CharSequence[size];
+        for (int i = 0; i < size; i++) {
+            currentText[i] = tickerColumns.get(i).getCurrentChar();
+        }
+        return currentText;
+    }
+
+    /**
+     * This method will draw onto the canvas the appropriate UI state of each column dictated
+     * by {@param animationProgress}. As a side effect, this method will also translate the canvas
+     * accordingly for the draw procedures.
+     */
+    void draw(TickerCanvas canvas) {
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.DRAW);
+        int drawn = 0;
+        for (int i = 0, size = tickerColumns.size(); i < size; i++) {
+            final TickerColumn column = tickerColumns.get(i);
+            drawn += column.draw(canvas);
+            canvas.translate(column.getCurrentWidth(), 0f);
+        }
+        TickerStats.record(stats, TickerStats.Counter.DRAW_CALLS, drawn);
+        TickerTrace.endSection(TickerTrace.Phase.DRAW, section);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+/**
+ * Provides the text measurements that {@link TickerColumnManager} and {@link TickerColumn} lay
+ * out the columns with, so that the ticker engine doesn't depend on any particular text stack.
+ */
+interface TickerMeasurer {
+    /**
+     * @return the width of {@param character} as drawn on its own.
+     */
+    float getCharWidth(CharSequence character);
+
+    float getCharHeight();
+
+    /**
+     * @return the width of the widest character in the character lists, see
+     *         {@link #setCharacterLists(TickerCharacterList[])}.
+     */
+    float getCharacterListMaxWidth();
+
+    /**
+     * @return a number that changes whenever previously returned measurements become stale.
+     */
+    int getGeneration();
+
+    /**
+     * @return one of the {@code TickerCharacterList.DIRECTION_*} constants.
+     */
+    int getPreferredScrollingDirection();
+
+    /**
+     * Tells the measurer which characters are likely to be measured, so that it can measure
+     * them ahead of time.
+     */
+    void setCharacterLists(TickerCharacterList[] characterLists);
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters describing the work done by the ticker engine, for exporting to telemetry. There is
+ * a single global instance, see {@link #getGlobal()}, that counts the work of every ticker once
+ * enabled via {@link #setGlobalEnabled(boolean)}. Individual tickers can additionally count
+ * into their own instance, e.g. via {@code TickerView#setStats}. Both are off by default, in
+ * which case recording costs a single volatile read.
+ *
+ * <p>Counters are updated without locking and can be recorded from any thread. The global
+ * instance spreads its counters over several stripes so that threads don't contend on the same
+ * cache line. Reading the counters via {@link #snapshot()} sums the stripes, so a snapshot that
+ * is taken while tickers are running is not atomic across counters.
+ */
+public final class TickerStats {
+    public enum Counter {
+        /** Calls to set the text of a ticker, including the ones that end up being skipped. */
+        SET_TEXT_CALLS,
+        /** Updates that were replaced by a later update before they could be shown. */
+        CONFLATED_UPDATES,
+        /** Updates that were dropped by the update policy. */
+        DROPPED_UPDATES,
+        /** Diffs computed between the current and the new text of a ticker. */
+        DIFFS,
+        /** Cells of the edit distance matrices computed by the diffs. */
+        DIFF_CELLS,
+        /** Segments of a diff that were resolved without an edit distance matrix. */
+        DIFF_FAST_PATHS,
+        /** Calls that measure text on the paint. */
+        MEASURE_TEXT_CALLS,
+        /** Lookups of the width of a character. */
+        WIDTH_LOOKUPS,
+        /** Lookups of the width of a character that had to measure text. */
+        WIDTH_CACHE_MISSES,
+        /** Columns created for new characters. */
+        COLUMNS_CREATED,
+        /** Columns reused for different characters when rebinding a ticker. */
+        COLUMNS_RECYCLED,
+        /** Text draw calls issued to the canvas. */
+        DRAW_CALLS,
+        /** Animation frames computed. */
+        FRAMES_ANIMATED
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    // Each stripe is padded to a multiple of the cache line size to avoid false sharing.
+    private static final int STRIDE = (COUNTERS.length + 7) & ~7;
+    private static final int GLOBAL_STRIPES = 8;
+
+    private static final TickerStats GLOBAL = new TickerStats(GLOBAL_STRIPES);
+    private static volatile boolean globalEnabled;
+
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+
+    /**
+     * Creates counters for an individual ticker.
+     */
+    public TickerStats() {
+        this(1);
+    }
+
+    private TickerStats(int stripes) {
+        stripeMask = stripes - 1;
+        counts = new AtomicLongArray(stripes * STRIDE);
+    }
+
+    /**
+     * @return the counters of all tickers, only recorded while enabled via
+     *         {@link #setGlobalEnabled(boolean)}.
+     */
+    public static TickerStats getGlobal() {
+        return GLOBAL;
+    }
+
+    /**
+     * Enables or disables recording into {@link #getGlobal()}, which is disabled by default.
+     * Disabling keeps the counts recorded so far.
+     */
+    public static void setGlobalEnabled(boolean enabled) {
+        globalEnabled = enabled;
+    }
+
+    public static boolean isGlobalEnabled() {
+        return globalEnabled;
+    }
+
+    /**
+     * Adds one to {@code counter} of the global counters and of {@code stats}, if any.
+     */
+    static void record(TickerStats stats, Counter counter) {
+        record(stats, counter, 1);
+    }
+
+    /**
+     * Adds {@code delta} to {@code counter} of the global counters and of {@code stats}, if
+     * any.
+     */
+    static void record(TickerStats stats, Counter counter, long delta) {
+        if (globalEnabled) {
+            GLOBAL.add(counter, delta);
+        }
+        if (stats != null) {
+            stats.add(counter, delta);
+        }
+    }
+
+    private void add(Counter counter, long delta) {
+        final int stripe = stripeMask == 0 ? 0 : (int) Thread.currentThread().getId() & stripeMask;
+        counts.addAndGet(stripe * STRIDE + counter.ordinal(), delta);
+    }
+
+    /**
+     * @return the current value of every counter.
+     */
+    public Snapshot snapshot() {
+        final long[] values = new long[COUNTERS.length];
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] += counts.get(stripe * STRIDE + i);
+            }
+        }
+        return new Snapshot(values);
+    }
+
+    /**
+     * Sets every counter back to zero. Counts recorded concurrently may or may not survive.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    /**
+     * The values of all counters at the time {@link #snapshot()} was called.
+     */
+    public static final class Snapshot {
+        private final long[] values;
+
+        Snapshot(long[] values) {
+            this.values = values;
+        }
+
+        public long get(Counter counter) {
+            return values[counter.ordinal()];
+        }
+
+        /**
+         * @return the fraction of width lookups that didn't have to measure text, or 1 if there
+         *         weren't any lookups.
+         */
+        public float getWidthCacheHitRate() {
+            final long lookups = get(Counter.WIDTH_LOOKUPS);
+            return lookups == 0 ? 1f : 1f - (float) get(Counter.WIDTH_CACHE_MISSES) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("TickerStats{");
+            for (int i = 0; i < COUNTERS.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(COUNTERS[i]).append('=').append(values[i]);
+            }
+            return sb.append('}').toString();
+        }
+    }
+}
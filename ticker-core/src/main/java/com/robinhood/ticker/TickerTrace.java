@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional instrumentation of the phases of the ticker engine, for attributing jank to a
+ * specific phase. Each phase can be reported as a trace section to a {@link Tracer}, e.g. one
+ * that forwards to {@code android.os.Trace} so that the phases show up in systrace and Perfetto
+ * captures, and its latency can be recorded into a per-phase histogram.
+ *
+ * <p>Both are off by default, in which case a phase costs a single volatile read. Recording
+ * into the histograms doesn't allocate, and they can be read at any time via
+ * {@link #getHistogram(Phase)} or {@link #dump()}.
+ */
+public final class TickerTrace {
+    public enum Phase {
+        /** Splitting new text into the characters of each column. */
+        SEGMENT("Ticker:segment"),
+        /** Diffing the current text against the new text. */
+        DIFF("Ticker:diff"),
+        /** Pointing the columns at their new characters. */
+        RETARGET("Ticker:retarget"),
+        /** Updating the columns for an animation frame. */
+        PROGRESS("Ticker:progress"),
+        /** Drawing the columns. */
+        DRAW("Ticker:draw");
+
+        final String sectionName;
+
+        Phase(String sectionName) {
+            this.sectionName = sectionName;
+        }
+    }
+
+    /**
+     * Receives the phases as nested trace sections, always on the thread that runs the phase.
+     */
+    public interface Tracer {
+        void beginSection(String sectionName);
+
+        void endSection();
+    }
+
+    /**
+     * The number of buckets of each histogram. Bucket 0 counts phases that took less than a
+     * microsecond, bucket {@code i} counts the ones that took between {@code 2^(i-1)} and
+     * {@code 2^i} microseconds and the last bucket counts everything slower.
+     */
+    public static final int BUCKET_COUNT = 18;
+
+    private static final Phase[] PHASES = Phase.values();
+    // Returned by beginSection when nothing is recording.
+    private static final long INACTIVE = Long.MIN_VALUE;
+
+    private static final AtomicLongArray bucketCounts =
+            new AtomicLongArray(PHASES.length * BUCKET_COUNT);
+    private static final AtomicLongArray totalNanos = new AtomicLongArray(PHASES.length);
+
+    private static volatile Tracer tracer;
+    private static volatile boolean histogramsEnabled;
+    // Whether either of the above is on, so that inactive phases only read one field.
+    private static volatile boolean active;
+
+    private TickerTrace() {
+    }
+
+    /**
+     * Sets the tracer that the phases are reported to, or null to stop tracing. This should be
+     * called while no ticker is being updated or drawn, so that sections stay balanced.
+     */
+    public static void setTracer(Tracer tracer) {
+        TickerTrace.tracer = tracer;
+        active = tracer != null || histogramsEnabled;
+    }
+
+    public static Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Enables or disables recording the latency of each phase, which is disabled by default.
+     * Disabling keeps the latencies recorded so far.
+     */
+    public static void setHistogramsEnabled(boolean enabled) {
+        histogramsEnabled = enabled;
+        active = tracer != null || enabled;
+    }
+
+    public static boolean isHistogramsEnabled() {
+        return histogramsEnabled;
+    }
+
+    /**
+     * Marks the start of {@code phase}, must be followed by {@link #endSection} on the same
+     * thread with the returned token.
+     */
+    static long beginSection(Phase phase) {
+        if (!active) {
+            return INACTIVE;
+        }
+        final Tracer tracer = TickerTrace.tracer;
+        if (tracer != null) {
+            tracer.beginSection(phase.sectionName);
+        }
+        return System.nanoTime();
+    }
+
+    static void endSection(Phase phase, long token) {
+        if (token == INACTIVE) {
+            return;
+        }
+        if (histogramsEnabled) {
+            record(phase, System.nanoTime() - token);
+        }
+        final Tracer tracer = TickerTrace.tracer;
+        if (tracer != null) {
+            tracer.endSection();
+        }
+    }
+
+    static void record(Phase phase, long durationNanos) {
+        bucketCounts.incrementAndGet(phase.ordinal() * BUCKET_COUNT + getBucket(durationNanos));
+        totalNanos.addAndGet(phase.ordinal(), durationNanos);
+    }
+
+    static int getBucket(long durationNanos) {
+        final long micros = durationNanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * @return the exclusive upper bound of {@code bucket} in nanoseconds, or
+     *         {@link Long#MAX_VALUE} for the last bucket.
+     */
+    public static long getBucketUpperBoundNanos(int bucket) {
+        if (bucket < 0 || bucket >= BUCKET_COUNT) {
+            throw new IllegalArgumentException("Bucket must be in [0, " + BUCKET_COUNT + ").");
+        }
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) * 1000;
+    }
+
+    /**
+     * @return the number of recorded runs of {@code phase} in each bucket, see
+     *         {@link #BUCKET_COUNT}.
+     */
+    public static long[] getHistogram(Phase phase) {
+        final long[] histogram = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            histogram[i] = bucketCounts.get(phase.ordinal() * BUCKET_COUNT + i);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return the total time in nanoseconds spent in all recorded runs of {@code phase}.
+     */
+    public static long getTotalNanos(Phase phase) {
+        return totalNanos.get(phase.ordinal());
+    }
+
+    public static void resetHistograms() {
+        for (int i = 0; i < bucketCounts.length(); i++) {
+            bucketCounts.set(i, 0);
+        }
+        for (int i = 0; i < totalNanos.length(); i++) {
+            totalNanos.set(i, 0);
+        }
+    }
+
+    /**
+     * @return a human readable table of the histograms, with one line per phase that lists the
+     *         number of runs, the mean latency and the non-empty buckets by their upper bound.
+     */
+    public static String dump() {
+        final StringBuilder sb = new StringBuilder();
+        for (Phase phase : PHASES) {
+            final long[] histogram = getHistogram(phase);
+            long count = 0;
+            for (long bucketCount : histogram) {
+                count += bucketCount;
+            }
+            sb.append(phase).append(": count=").append(count);
+            if (count > 0) {
+                sb.append(" meanUs=").append(getTotalNanos(phase) / count / 1000f);
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (histogram[i] == 0) continue;
+                sb.append(i == BUCKET_COUNT - 1 ? " >" : " <")
+                        .append(i == BUCKET_COUNT - 1
+                                ? getBucketUpperBoundNanos(i - 1) / 1000
+                                : getBucketUpperBoundNanos(i) / 1000)
+                        .append("us=").append(histogram[i]);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process-wide cache of measured text widths that is shared between all of the
+ * {@link CachingTickerMeasurer} instances. Widths are grouped by a signature of the attributes
+ * that affect measurement, e.g. those of a paint, so that all of the tickers that share a style
+ * only need to measure each character once.
+ *
+ * <p>Both the number of styles and the number of multi-character tokens per style are bounded,
+ * with the least recently used entries being evicted first. All methods are thread-safe.
+ *
+ * <p>The shared instance measures the characters of the character lists in the background, see
+ * {@link #prewarmCharWidths(Object, char[], CharMeasurer)}, so that tickers find those widths
+ * here rather than measuring them on the main thread when they first animate.
+ */
+final class TickerWidthCache {
+    private static final int MAX_STYLES = 32;
+    private static final int MAX_TOKENS_PER_STYLE = 256;
+
+    private static final long PREWARM_THREAD_KEEP_ALIVE_SECONDS = 1;
+
+    private static final TickerWidthCache INSTANCE =
+            new TickerWidthCache(MAX_STYLES, createPrewarmExecutor());
+
+    private final Map<Object, StyleWidths> styles;
+    // Runs prewarmCharWidths, may be null in which case nothing is measured ahead of time.
+    private final Executor prewarmExecutor;
+
+    TickerWidthCache(int maxStyles) {
+        this(maxStyles, null);
+    }
+
+    TickerWidthCache(final int maxStyles, Executor prewarmExecutor) {
+        this.prewarmExecutor = prewarmExecutor;
+        this.styles = new LinkedHashMap<Object, StyleWidths>(maxStyles, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, StyleWidths> eldest) {
+                return size() > maxStyles;
+            }
+        };
+    }
+
+    static TickerWidthCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return an executor with a single low priority thread that only lives while there is
+     *         work to do.
+     */
+    private static Executor createPrewarmExecutor() {
+        return new ThreadPoolExecutor(0, 1, PREWARM_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "TickerWidthCache");
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    }
+                });
+    }
+
+    /**
+     * @return whether {@link #prewarmCharWidths(Object, char[], CharMeasurer)} measures
+     *         anything, i.e. whether this cache has an executor to measure with.
+     */
+    boolean isPrewarming() {
+        return prewarmExecutor != null;
+    }
+
+    /**
+     * Measures the widths of {@code chars} in the background and stores the ones that aren't
+     * cached yet. Does nothing if this cache has no executor to measure with.
+     *
+     * @param signature the signature of the style to store the widths for.
+     * @param chars the characters to measure, which must not be modified afterwards.
+     * @param measurer measures the characters in that style, on the background thread.
+     */
+    void prewarmCharWidths(final Object signature, final char[] chars,
+                           final CharMeasurer measurer) {
+        if (prewarmExecutor == null) return;
+
+        prewarmExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final StyleWidths widths = getStyleWidths(signature);
+                for (int i = 0; i < chars.length; i++) {
+                    final char c = chars[i];
+                    if (Float.isNaN(widths.getCharWidth(c))) {
+                        widths.putCharWidth(c, measurer.measureChar(chars, i));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the cached widths for the style with {@code signature}. The returned object is
+     *         stable and should be looked up again whenever the style changes.
+     */
+    synchronized StyleWidths getStyleWidths(Object signature) {
+        StyleWidths widths = styles.get(signature);
+        if (widths == null) {
+            widths = new StyleWidths();
+            styles.put(signature, widths);
+        }
+        return widths;
+    }
+
+    /**
+     * Measures single characters for {@link #prewarmCharWidths(Object, char[], CharMeasurer)}.
+     */
+    interface CharMeasurer {
+        /**
+         * @return the width of {@code chars[index]} as drawn on its own.
+         */
+        float measureChar(char[] chars, int index);
+    }
+
+    /**
+     * The measured widths for a single style signature. Unknown widths are reported as
+     * {@link Float#NaN}.
+     */
+    static final class StyleWidths {
+        private final float[] charWidths = new float[CachingTickerMeasurer.CHAR_WIDTH_TABLE_SIZE];
+        private final Map<String, Float> tokenWidths =
+                new LinkedHashMap<String, Float>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Float> eldest) {
+                        return size() > MAX_TOKENS_PER_STYLE;
+                    }
+                };
+
+        StyleWidths() {
+            Arrays.fill(charWidths, Float.NaN);
+        }
+
+        synchronized float getCharWidth(char c) {
+            return charWidths[c];
+        }
+
+        synchronized void putCharWidth(char c, float width) {
+            charWidths[c] = width;
+        }
+
+        synchronized float getTokenWidth(CharSequence token) {
+            final Float width = tokenWidths.get(token.toString());
+            return width != null ? width : Float.NaN;
+        }
+
+        synchronized void putTokenWidth(CharSequence token, float width) {
+            tokenWidths.put(token.toString(), width);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.robinhood.ticker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+public class CachingTickerMeasurerTest {
+    private static final Object SIGNATURE = new Object();
+
+    @Test
+    public void test_charWidth_cachedUntilInvalidated() {
+        final TestMeasurer measurer = new TestMeasurer(null);
+
+        assertEquals(10f, measurer.getCharWidth("1"), 0f);
+        assertEquals(20f, measurer.getCharWidth("ab"), 0f);
+        assertEquals(10f, measurer.getCharWidth("\u20AC"), 0f);
+        assertEquals(0f, measurer.getCharWidth(TickerUtils.EMPTY_CHAR), 0f);
+        assertEquals(3, measurer.measureTextCalls);
+
+        assertEquals(10f, measurer.getCharWidth("1"), 0f);
+        assertEquals(20f, measurer.getCharWidth("ab"), 0f);
+        assertEquals(10f, measurer.getCharWidth("\u20AC"), 0f);
+        assertEquals(3, measurer.measureTextCalls);
+
+        final int generation = measurer.getGeneration();
+        measurer.invalidate();
+        assertEquals(generation + 1, measurer.getGeneration());
+        assertEquals(10f, measurer.getCharWidth("1"), 0f);
+        assertEquals(20f, measurer.getCharWidth("ab"), 0f);
+        assertEquals(5, measurer.measureTextCalls);
+    }
+
+    @Test
+    public void test_charWidth_shared() {
+        final TickerWidthCache cache = new TickerWidthCache(2);
+        final TestMeasurer measurer1 = new TestMeasurer(cache);
+        final TestMeasurer measurer2 = new TestMeasurer(cache);
+
+        assertEquals(10f, measurer1.getCharWidth("1"), 0f);
+        assertEquals(20f, measurer1.getCharWidth("ab"), 0f);
+        assertEquals(10f, measurer2.getCharWidth("1"), 0f);
+        assertEquals(20f, measurer2.getCharWidth("ab"), 0f);
+        assertEquals(2, measurer1.measureTextCalls);
+        assertEquals(0, measurer2.measureTextCalls);
+    }
+
+    @Test
+    public void test_characterLists() {
+        final TestMeasurer measurer = new TestMeasurer(null);
+        measurer.setCharacterLists(new TickerCharacterList[]{new TickerCharacterList("12")});
+        measurer.widths['2'] = 15f;
+
+        assertEquals(15f, measurer.getCharacterListMaxWidth(), 0f);
+        assertEquals(10f, measurer.getCharWidth("1"), 0f);
+        assertEquals(2, measurer.measureTextCalls);
+
+        measurer.setUniformCharacterListWidth(true);
+        measurer.invalidate();
+        assertEquals(15f, measurer.getCharWidth("1"), 0f);
+        // Characters outside of the character lists keep their own width
+        assertEquals(10f, measurer.getCharWidth("3"), 0f);
+    }
+
+    @Test
+    public void test_characterLists_prewarmed() {
+        final ArrayList<Runnable> tasks = new ArrayList<>();
+        final TickerWidthCache cache = new TickerWidthCache(2, new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+        final TestMeasurer measurer = new TestMeasurer(cache);
+
+        measurer.setCharacterLists(new TickerCharacterList[]{new TickerCharacterList("123")});
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(10f, cache.getStyleWidths(SIGNATURE).getCharWidth('2'), 0f);
+
+        assertEquals(10f, measurer.getCharacterListMaxWidth(), 0f);
+        assertEquals(0, measurer.measureTextCalls);
+
+        measurer.invalidate();
+        assertEquals(2, tasks.size());
+    }
+
+    private static class TestMeasurer extends CachingTickerMeasurer {
+        final float[] widths = new float[CHAR_WIDTH_TABLE_SIZE];
+        int measureTextCalls;
+
+        TestMeasurer(TickerWidthCache sharedWidthCache) {
+            super(sharedWidthCache);
+            Arrays.fill(widths, 10f);
+        }
+
+        @Override
+        float measureText(CharSequence text, int start, int end) {
+            measureTextCalls++;
+            return end - start == 1 && text.charAt(start) < widths.length
+                    ? widths[text.charAt(start)]
+                    : 10f * (end - start);
+        }
+
+        @Override
+        float measureText(char[] text, int index, int count) {
+            return measureText(new String(text), index, index + count);
+        }
+
+        @Override
+        Object getWidthSignature() {
+            return SIGNATURE;
+        }
+
+        @Override
+        TickerWidthCache.CharMeasurer createPrewarmMeasurer() {
+            return new TickerWidthCache.CharMeasurer() {
+                @Override
+                public float measureChar(char[] chars, int index) {
+                    return widths[chars[index]];
+                }
+            };
+        }
+
+        @Override
+        public float getCharHeight() {
+            return 20f;
+        }
+
+        @Override
+        public int getPreferredScrollingDirection() {
+            return TickerCharacterList.DIRECTION_ANY;
+        }
+    }
+}
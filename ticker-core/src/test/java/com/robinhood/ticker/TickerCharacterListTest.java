@@ -17,7 +17,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndices() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "1", TickerView.ScrollingDirection.ANY);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "1", TickerCharacterList.DIRECTION_ANY);
         assertEquals(1, indices.startIndex);
         assertEquals(2, indices.endIndex);
     }
@@ -25,7 +25,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesWraparound() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerView.ScrollingDirection.ANY);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerCharacterList.DIRECTION_ANY);
         assertEquals(3, indices.startIndex);
         assertEquals(4, indices.endIndex);
     }
@@ -33,7 +33,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesWraparound2() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerView.ScrollingDirection.ANY);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerCharacterList.DIRECTION_ANY);
         assertEquals(4, indices.startIndex);
         assertEquals(3, indices.endIndex);
     }
@@ -41,7 +41,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesForcedDown() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerView.ScrollingDirection.DOWN);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerCharacterList.DIRECTION_DOWN);
         assertEquals(3, indices.startIndex);
         assertEquals(4, indices.endIndex);
     }
@@ -49,7 +49,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesForcedDown2() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerView.ScrollingDirection.DOWN);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerCharacterList.DIRECTION_DOWN);
         assertEquals(1, indices.startIndex);
         assertEquals(3, indices.endIndex);
     }
@@ -57,7 +57,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesForcedUp() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerView.ScrollingDirection.UP);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("2", "0", TickerCharacterList.DIRECTION_UP);
         assertEquals(3, indices.startIndex);
         assertEquals(1, indices.endIndex);
     }
@@ -65,7 +65,7 @@ public class TickerCharacterListTest {
     @Test
     public void test_getCharacterIndicesForcedUp2() {
         final TickerCharacterList list = new TickerCharacterList("012");
-        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerView.ScrollingDirection.UP);
+        final TickerCharacterList.CharacterIndices indices = list.getCharacterIndices("0", "2", TickerCharacterList.DIRECTION_UP);
         assertEquals(4, indices.startIndex);
         assertEquals(3, indices.endIndex);
     }
@@ -74,7 +74,7 @@ public class TickerCharacterListTest {
     public void test_getCharacterIndicesEmptyNoWraparound() {
         final TickerCharacterList list = new TickerCharacterList("012");
         final TickerCharacterList.CharacterIndices indices =
-                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerView.ScrollingDirection.ANY);
+                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerCharacterList.DIRECTION_ANY);
         assertEquals(3, indices.startIndex);
         assertEquals(0, indices.endIndex);
     }
@@ -83,7 +83,7 @@ public class TickerCharacterListTest {
     public void test_getCharacterIndicesEmptyForcedUp() {
         final TickerCharacterList list = new TickerCharacterList("012");
         final TickerCharacterList.CharacterIndices indices =
-                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerView.ScrollingDirection.UP);
+                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerCharacterList.DIRECTION_UP);
         assertEquals(3, indices.startIndex);
         assertEquals(0, indices.endIndex);
     }
@@ -92,7 +92,7 @@ public class TickerCharacterListTest {
     public void test_getCharacterIndicesEmptyForcedDown() {
         final TickerCharacterList list = new TickerCharacterList("012");
         final TickerCharacterList.CharacterIndices indices =
-                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerView.ScrollingDirection.DOWN);
+                list.getCharacterIndices("2", TickerUtils.EMPTY_CHAR, TickerCharacterList.DIRECTION_DOWN);
         assertEquals(3, indices.startIndex);
         assertEquals(7, indices.endIndex);
     }
@@ -0,0 +1,167 @@
+package com.robinhood.ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Matchers.anyChar;
+import static org.mockito.Mockito.when;
+
+public class TickerColumnManagerTest {
+    @Mock
+    TickerMeasurer metrics;
+
+    private TickerColumnManager tickerColumnManager;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        when(metrics.getCharWidth(anyString())).thenReturn(5f);
+        when(metrics.getCharWidth(TickerUtils.EMPTY_CHAR)).thenReturn(0f);
+        when(metrics.getPreferredScrollingDirection()).thenReturn(TickerCharacterList.DIRECTION_ANY);
+
+        tickerColumnManager = new TickerColumnManager(metrics);
+        tickerColumnManager.setCharacterLists("1234567890");
+    }
+
+    @Test
+    public void test_setText_animate() {
+        assertEquals(0, numberOfTickerColumns());
+
+        tickerColumnManager.setText("1234");
+        tickerColumnManager.setAnimationProgress(1f);
+        assertEquals(4, numberOfTickerColumns());
+        assertEquals("1", String.valueOf(tickerColumnAtIndex(0).getTargetChar()));
+        assertEquals("2", String.valueOf(tickerColumnAtIndex(1).getTargetChar()));
+        assertEquals("3", String.valueOf(tickerColumnAtIndex(2).getTargetChar()));
+        assertEquals("4", String.valueOf(tickerColumnAtIndex(3).getTargetChar()));
+
+        tickerColumnManager.setText("999");
+        assertEquals(4, numberOfTickerColumns());
+        assertEquals(TickerUtils.EMPTY_CHAR, tickerColumnAtIndex(0).getTargetChar());
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(1).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(2).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(3).getTargetChar()));
+
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.setText("899");
+        assertEquals(3, numberOfTickerColumns());
+        assertEquals("8", String.valueOf(tickerColumnAtIndex(0).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(1).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(2).getTargetChar()));
+    }
+
+    @Test
+    public void test_setText_noAnimate() {
+        assertEquals(0, numberOfTickerColumns());
+
+        tickerColumnManager.setText("1234");
+        assertEquals(4, numberOfTickerColumns());
+        assertEquals("1", String.valueOf(tickerColumnAtIndex(0).getTargetChar()));
+        assertEquals("2", String.valueOf(tickerColumnAtIndex(1).getTargetChar()));
+        assertEquals("3", String.valueOf(tickerColumnAtIndex(2).getTargetChar()));
+        assertEquals("4", String.valueOf(tickerColumnAtIndex(3).getTargetChar()));
+
+        tickerColumnManager.setText("999");
+        assertEquals(3, numberOfTickerColumns());
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(0).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(1).getTargetChar()));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(2).getTargetChar()));
+    }
+
+    @Test
+    public void test_isWidthAnimating() {
+        tickerColumnManager.setText("1234");
+        assertTrue(tickerColumnManager.isWidthAnimating());
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+        assertFalse(tickerColumnManager.isWidthAnimating());
+
+        // Every character has the same width so the width should stay constant
+        tickerColumnManager.setText("5678");
+        assertFalse(tickerColumnManager.isWidthAnimating());
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+
+        tickerColumnManager.setText("567");
+        assertTrue(tickerColumnManager.isWidthAnimating());
+    }
+
+    @Test
+    public void test_widths() {
+        tickerColumnManager.setText("1234");
+        assertEquals(0f, tickerColumnManager.getCurrentWidth(), 0f);
+        assertEquals(20f, tickerColumnManager.getMinimumRequiredWidth(), 0f);
+
+        tickerColumnManager.setAnimationProgress(0.5f);
+        assertEquals(10f, tickerColumnManager.getCurrentWidth(), 0f);
+
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+        assertEquals(20f, tickerColumnManager.getCurrentWidth(), 0f);
+        assertEquals(20f, tickerColumnManager.getMinimumRequiredWidth(), 0f);
+
+        // Draw metrics changes should be picked up once the metrics are invalidated
+        when(metrics.getCharWidth(anyString())).thenReturn(10f);
+        when(metrics.getGeneration()).thenReturn(1);
+        assertEquals(40f, tickerColumnManager.getCurrentWidth(), 0f);
+        assertEquals(40f, tickerColumnManager.getMinimumRequiredWidth(), 0f);
+    }
+
+    @Test
+    public void test_bindText() {
+        tickerColumnManager.setText("1234");
+        tickerColumnManager.setAnimationProgress(0.5f);
+        final TickerColumn firstColumn = tickerColumnAtIndex(0);
+
+        tickerColumnManager.bindText(LevenshteinUtils.toCharArrayOfArray("98"));
+        assertEquals(2, numberOfTickerColumns());
+        assertSame(firstColumn, tickerColumnAtIndex(0));
+        assertEquals("9", String.valueOf(tickerColumnAtIndex(0).getCurrentChar()));
+        assertEquals("8", String.valueOf(tickerColumnAtIndex(1).getCurrentChar()));
+        assertFalse(tickerColumnManager.isWidthAnimating());
+        assertEquals(10f, tickerColumnManager.getCurrentWidth(), 0f);
+        assertEquals(10f, tickerColumnManager.getMinimumRequiredWidth(), 0f);
+
+        // The next update only animates the column that changed from the bound text
+        tickerColumnManager.setText("97");
+        assertEquals(2, numberOfTickerColumns());
+        assertEquals(5f, tickerColumnManager.getAnimatingLeft(), 0f);
+        assertEquals(10f, tickerColumnManager.getAnimatingRight(), 0f);
+    }
+
+    @Test
+    public void test_animatingExtent() {
+        tickerColumnManager.setText("1234");
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+
+        // Only the middle two columns move
+        tickerColumnManager.setText("1564");
+        assertFalse(tickerColumnManager.isWidthAnimating());
+        assertEquals(5f, tickerColumnManager.getAnimatingLeft(), 0f);
+        assertEquals(15f, tickerColumnManager.getAnimatingRight(), 0f);
+        tickerColumnManager.setAnimationProgress(1f);
+        tickerColumnManager.onAnimationEnd();
+
+        // Nothing moves
+        tickerColumnManager.setText("1564");
+        assertEquals(0f, tickerColumnManager.getAnimatingLeft(), 0f);
+        assertEquals(0f, tickerColumnManager.getAnimatingRight(), 0f);
+    }
+
+    private TickerColumn tickerColumnAtIndex(int index) {
+        return tickerColumnManager.tickerColumns.get(index);
+    }
+
+    private int numberOfTickerColumns() {
+        return tickerColumnManager.tickerColumns.size();
+    }
+}
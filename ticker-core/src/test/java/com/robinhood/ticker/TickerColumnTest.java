@@ -1,8 +1,5 @@
 package com.robinhood.ticker;
 
-import android.graphics.Canvas;
-import android.text.TextPaint;
-
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -24,11 +21,9 @@ public class TickerColumnTest {
     private static TickerCharacterList characterList = new TickerCharacterList("01234");
 
     @Mock
-    TickerDrawMetrics metrics;
-    @Mock
-    Canvas canvas;
+    TickerMeasurer metrics;
     @Mock
-    TextPaint paint;
+    TickerCanvas canvas;
 
     private TickerColumn tickerColumn;
 
@@ -39,7 +34,7 @@ public class TickerColumnTest {
         when(metrics.getCharHeight()).thenReturn(CHAR_HEIGHT);
         when(metrics.getCharWidth(anyString())).thenReturn(DEFAULT_CHAR_WIDTH);
         when(metrics.getCharWidth(TickerUtils.EMPTY_CHAR)).thenReturn(0f);
-        when(metrics.getPreferredScrollingDirection()).thenReturn(TickerView.ScrollingDirection.ANY);
+        when(metrics.getPreferredScrollingDirection()).thenReturn(TickerCharacterList.DIRECTION_ANY);
 
         tickerColumn = new TickerColumn(
                 new TickerCharacterList[]{characterList},
@@ -76,6 +71,58 @@ public class TickerColumnTest {
         assertEquals((int) DEFAULT_CHAR_WIDTH, (int) tickerColumn.getCurrentWidth());
     }
 
+    @Test
+    public void test_drawMetricsChanges() {
+        tickerColumn.setTargetChar("0");
+        setProgress(1f);
+        assertEquals((int) DEFAULT_CHAR_WIDTH, (int) tickerColumn.getCurrentWidth());
+
+        // Widths should not be re-checked until the metrics are invalidated
+        when(metrics.getCharWidth(anyString())).thenReturn(DEFAULT_CHAR_WIDTH * 2);
+        assertEquals((int) DEFAULT_CHAR_WIDTH, (int) tickerColumn.getCurrentWidth());
+
+        when(metrics.getGeneration()).thenReturn(1);
+        assertEquals((int) DEFAULT_CHAR_WIDTH * 2, (int) tickerColumn.getCurrentWidth());
+        assertEquals((int) DEFAULT_CHAR_WIDTH * 2, (int) tickerColumn.getMinimumRequiredWidth());
+    }
+
+    @Test
+    public void test_reservedWidth() {
+        when(metrics.getCharacterListMaxWidth()).thenReturn(DEFAULT_CHAR_WIDTH * 2);
+
+        tickerColumn.setTargetChar("0");
+        setProgress(1f);
+        tickerColumn.onAnimationEnd();
+        assertEquals((int) DEFAULT_CHAR_WIDTH * 2, (int) tickerColumn.getReservedWidth());
+
+        // Characters outside of the character lists only reserve their own width
+        tickerColumn.setTargetChar("a");
+        assertEquals((int) DEFAULT_CHAR_WIDTH * 2, (int) tickerColumn.getReservedWidth());
+        setProgress(1f);
+        tickerColumn.onAnimationEnd();
+        assertEquals((int) DEFAULT_CHAR_WIDTH, (int) tickerColumn.getReservedWidth());
+    }
+
+    @Test
+    public void test_draw_crossFade() {
+        tickerColumn.setTargetChar("1");
+        setProgress(1f);
+        reset(canvas);
+        when(canvas.getAlpha()).thenReturn(200);
+
+        tickerColumn.setCrossFade(true);
+        tickerColumn.setTargetChar("3");
+        setProgress(0.25f);
+        final CharSequence[] charList = characterList.getCharacterList();
+        verify(canvas).drawText(charList[2], 0, 1, 0f, 0f);
+        verify(canvas).drawText(charList[4], 0, 1, 0f, 0f);
+        verify(canvas).getAlpha();
+        verify(canvas).setAlpha(150);
+        verify(canvas).setAlpha(50);
+        verify(canvas).setAlpha(200);
+        verifyNoMoreInteractions(canvas);
+    }
+
     @Test
     public void test_draw_noAnimation() {
         tickerColumn.setTargetChar("0");
@@ -277,7 +324,7 @@ public class TickerColumnTest {
 
     private void setProgress(float progress) {
         tickerColumn.setAnimationProgress(progress);
-        tickerColumn.draw(canvas, paint);
+        tickerColumn.draw(canvas);
     }
 
     private void verifyDraw(int index, float offset) {
@@ -291,16 +338,16 @@ public class TickerColumnTest {
     private void verifyDraw(CharSequence[] charList, int index, float offset, int times) {
         CharSequence chars1 = charList[index];
         verify(canvas, times(times))
-                .drawText(chars1, 0, chars1.length(), 0f, offset, paint);
+                .drawText(chars1, 0, chars1.length(), 0f, offset);
         if (index < charList.length - 1) {
             CharSequence chars2 = charList[index + 1];
             verify(canvas, times(times))
-                    .drawText(chars2, 0, chars2.length(), 0f, offset - CHAR_HEIGHT, paint);
+                    .drawText(chars2, 0, chars2.length(), 0f, offset - CHAR_HEIGHT);
         }
         if (index >= 1) {
             CharSequence chars3 = charList[index - 1];
             verify(canvas, times(times))
-                    .drawText(chars3, 0, chars3.length(), 0f, offset + CHAR_HEIGHT, paint);
+                    .drawText(chars3, 0, chars3.length(), 0f, offset + CHAR_HEIGHT);
         }
     }
 }
@@ -0,0 +1,101 @@
+package com.robinhood.ticker;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class TickerStatsTest {
+    private Set<CharSequence> numbers;
+    private TickerStats stats;
+
+    @Before
+    public void setup() {
+        numbers = new HashSet<>();
+        for (char c : "1234567890".toCharArray()) {
+            numbers.add(String.valueOf(c));
+        }
+        stats = new TickerStats();
+        TickerStats.getGlobal().reset();
+    }
+
+    @After
+    public void tearDown() {
+        TickerStats.setGlobalEnabled(false);
+        TickerStats.getGlobal().reset();
+    }
+
+    @Test
+    public void test_record() {
+        TickerStats.record(stats, TickerStats.Counter.DRAW_CALLS);
+        TickerStats.record(stats, TickerStats.Counter.DRAW_CALLS, 4);
+
+        final TickerStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(5, snapshot.get(TickerStats.Counter.DRAW_CALLS));
+        assertEquals(0, snapshot.get(TickerStats.Counter.FRAMES_ANIMATED));
+
+        stats.reset();
+        assertEquals(0, stats.snapshot().get(TickerStats.Counter.DRAW_CALLS));
+    }
+
+    @Test
+    public void test_record_global() {
+        TickerStats.record(null, TickerStats.Counter.SET_TEXT_CALLS);
+        assertEquals(0, TickerStats.getGlobal().snapshot().get(TickerStats.Counter.SET_TEXT_CALLS));
+
+        TickerStats.setGlobalEnabled(true);
+        TickerStats.record(null, TickerStats.Counter.SET_TEXT_CALLS);
+        TickerStats.record(stats, TickerStats.Counter.SET_TEXT_CALLS);
+        assertEquals(2, TickerStats.getGlobal().snapshot().get(TickerStats.Counter.SET_TEXT_CALLS));
+        assertEquals(1, stats.snapshot().get(TickerStats.Counter.SET_TEXT_CALLS));
+    }
+
+    @Test
+    public void test_record_globalFromManyThreads() throws InterruptedException {
+        TickerStats.setGlobalEnabled(true);
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 1000; j++) {
+                        TickerStats.record(null, TickerStats.Counter.FRAMES_ANIMATED);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, TickerStats.getGlobal().snapshot().get(TickerStats.Counter.FRAMES_ANIMATED));
+    }
+
+    @Test
+    public void test_diff() {
+        LevenshteinUtils.computeColumnActions(
+                LevenshteinUtils.toCharArrayOfArray("12"),
+                LevenshteinUtils.toCharArrayOfArray("123"), numbers, stats);
+        LevenshteinUtils.computeColumnActions(
+                LevenshteinUtils.toCharArrayOfArray("12"),
+                LevenshteinUtils.toCharArrayOfArray("34"), numbers, stats);
+
+        final TickerStats.Snapshot snapshot = stats.snapshot();
+        assertEquals(2, snapshot.get(TickerStats.Counter.DIFFS));
+        assertEquals(12, snapshot.get(TickerStats.Counter.DIFF_CELLS));
+        assertEquals(1, snapshot.get(TickerStats.Counter.DIFF_FAST_PATHS));
+    }
+
+    @Test
+    public void test_widthCacheHitRate() {
+        assertEquals(1f, stats.snapshot().getWidthCacheHitRate(), 0f);
+
+        TickerStats.record(stats, TickerStats.Counter.WIDTH_LOOKUPS, 4);
+        TickerStats.record(stats, TickerStats.Counter.WIDTH_CACHE_MISSES);
+        assertEquals(0.75f, stats.snapshot().getWidthCacheHitRate(), 0f);
+    }
+}
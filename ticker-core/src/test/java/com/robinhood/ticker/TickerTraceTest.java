@@ -0,0 +1,89 @@
+package com.robinhood.ticker;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TickerTraceTest {
+    @After
+    public void tearDown() {
+        TickerTrace.setTracer(null);
+        TickerTrace.setHistogramsEnabled(false);
+        TickerTrace.resetHistograms();
+    }
+
+    @Test
+    public void test_getBucket() {
+        assertEquals(0, TickerTrace.getBucket(0));
+        assertEquals(0, TickerTrace.getBucket(999));
+        assertEquals(1, TickerTrace.getBucket(1000));
+        assertEquals(1, TickerTrace.getBucket(1999));
+        assertEquals(2, TickerTrace.getBucket(2000));
+        assertEquals(11, TickerTrace.getBucket(1500000));
+        assertEquals(TickerTrace.BUCKET_COUNT - 1, TickerTrace.getBucket(Long.MAX_VALUE));
+
+        for (int i = 0; i < TickerTrace.BUCKET_COUNT - 1; i++) {
+            final long upperBound = TickerTrace.getBucketUpperBoundNanos(i);
+            assertEquals(i, TickerTrace.getBucket(upperBound - 1));
+            assertEquals(i + 1, TickerTrace.getBucket(upperBound));
+        }
+    }
+
+    @Test
+    public void test_histogram() {
+        TickerTrace.record(TickerTrace.Phase.DIFF, 500);
+        TickerTrace.record(TickerTrace.Phase.DIFF, 3000);
+        TickerTrace.record(TickerTrace.Phase.DIFF, 3500);
+
+        final long[] histogram = TickerTrace.getHistogram(TickerTrace.Phase.DIFF);
+        assertEquals(1, histogram[0]);
+        assertEquals(2, histogram[2]);
+        assertEquals(7000, TickerTrace.getTotalNanos(TickerTrace.Phase.DIFF));
+        assertEquals(0, TickerTrace.getHistogram(TickerTrace.Phase.DRAW)[0]);
+        assertTrue(TickerTrace.dump().contains("DIFF: count=3"));
+
+        TickerTrace.resetHistograms();
+        assertEquals(0, TickerTrace.getHistogram(TickerTrace.Phase.DIFF)[2]);
+    }
+
+    @Test
+    public void test_sections() {
+        final List<String> sections = new ArrayList<>();
+        TickerTrace.setTracer(new TickerTrace.Tracer() {
+            @Override
+            public void beginSection(String sectionName) {
+                sections.add(sectionName);
+            }
+
+            @Override
+            public void endSection() {
+                sections.add("end");
+            }
+        });
+        TickerTrace.setHistogramsEnabled(true);
+
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.PROGRESS);
+        TickerTrace.endSection(TickerTrace.Phase.PROGRESS, section);
+
+        assertEquals(2, sections.size());
+        assertEquals("Ticker:progress", sections.get(0));
+        assertEquals("end", sections.get(1));
+        long count = 0;
+        for (long bucketCount : TickerTrace.getHistogram(TickerTrace.Phase.PROGRESS)) {
+            count += bucketCount;
+        }
+        assertEquals(1, count);
+    }
+
+    @Test
+    public void test_sections_inactive() {
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.DRAW);
+        TickerTrace.endSection(TickerTrace.Phase.DRAW, section);
+        assertTrue(TickerTrace.dump().contains("DRAW: count=0"));
+    }
+}
@@ -1,10 +1,13 @@
 package com.robinhood.ticker.sample;
 
+import android.os.Build;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.robinhood.ticker.TickerAnimationDriver;
+import com.robinhood.ticker.TickerBatch;
 import com.robinhood.ticker.TickerView;
 
 import java.util.ArrayList;
@@ -26,13 +29,19 @@ public class PerfActivity extends BaseActivity {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true);
         recyclerView.setAdapter(new TestAdapter());
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            TickerAnimationDriver.getInstance().getQualityMonitor().setEnabled(true);
+        }
     }
 
     @Override
     protected void onUpdate() {
+        final TickerBatch batch = TickerBatch.begin();
         for (TickerViewHolder viewHolder : boundViewHolders) {
-            viewHolder.update(true);
+            viewHolder.update(batch);
         }
+        batch.commit();
     }
 
     private class TestAdapter extends RecyclerView.Adapter<TickerViewHolder> {
@@ -50,7 +59,13 @@ public class PerfActivity extends BaseActivity {
         @Override
         public void onBindViewHolder(TickerViewHolder holder, int position) {
             boundViewHolders.add(holder);
-            holder.update(false);
+            holder.bind();
+        }
+
+        @Override
+        public void onViewRecycled(TickerViewHolder holder) {
+            boundViewHolders.remove(holder);
+            holder.onRecycled();
         }
 
         @Override
@@ -68,13 +83,35 @@ public class PerfActivity extends BaseActivity {
             ticker2 = itemView.findViewById(R.id.ticker2);
             ticker3 = itemView.findViewById(R.id.ticker3);
             ticker4 = itemView.findViewById(R.id.ticker4);
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                final TickerAnimationDriver driver = TickerAnimationDriver.getInstance();
+                ticker1.setAnimationDriver(driver);
+                ticker2.setAnimationDriver(driver);
+                ticker3.setAnimationDriver(driver);
+                ticker4.setAnimationDriver(driver);
+            }
+        }
+
+        void bind() {
+            ticker1.bind(getRandomNumber(8));
+            ticker2.bind(getRandomNumber(8));
+            ticker3.bind(getRandomNumber(8));
+            ticker4.bind(getRandomNumber(8));
+        }
+
+        void onRecycled() {
+            ticker1.onRecycled();
+            ticker2.onRecycled();
+            ticker3.onRecycled();
+            ticker4.onRecycled();
         }
 
-        void update(boolean animate) {
-            ticker1.setText(getRandomNumber(8), animate);
-            ticker2.setText(getRandomNumber(8), animate);
-            ticker3.setText(getRandomNumber(8), animate);
-            ticker4.setText(getRandomNumber(8), animate);
+        void update(TickerBatch batch) {
+            batch.setText(ticker1, getRandomNumber(8), true);
+            batch.setText(ticker2, getRandomNumber(8), true);
+            batch.setText(ticker3, getRandomNumber(8), true);
+            batch.setText(ticker4, getRandomNumber(8), true);
         }
     }
 }
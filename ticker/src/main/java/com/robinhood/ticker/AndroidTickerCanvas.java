@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.text.Spannable;
+import android.text.style.ReplacementSpan;
+
+/**
+ * Adapts an Android {@link Canvas} and {@link Paint} to the {@link TickerCanvas} that the
+ * column manager draws through. A single instance is meant to be reused for every draw pass via
+ * {@link #wrap(Canvas, Paint)}.
+ */
+final class AndroidTickerCanvas implements TickerCanvas {
+    private Canvas canvas;
+    private Paint textPaint;
+
+    AndroidTickerCanvas wrap(Canvas canvas, Paint textPaint) {
+        this.canvas = canvas;
+        this.textPaint = textPaint;
+        return this;
+    }
+
+    @Override
+    public void drawText(CharSequence chars, int start, int end, float x, float y) {
+        if (chars instanceof Spannable) {
+            Spannable spannableChars = ((Spannable) chars);
+            int spanStart;
+            int spanStartNew;
+            int spanEnd = start;
+            int spanEndNew;
+            ReplacementSpan[] emojiSpans = spannableChars.getSpans(start, end, ReplacementSpan.class);
+            if (emojiSpans.length != 0) {
+                for (ReplacementSpan span : emojiSpans) {
+                    spanStartNew = spannableChars.getSpanStart(span);
+                    spanEndNew = spannableChars.getSpanEnd(span);
+                    if (spanEnd != spanStartNew) {
+                        canvas.drawText(spannableChars, spanEnd, spanStartNew, x, y, textPaint);
+                    }
+                    spanStart = spanStartNew;
+                    spanEnd = spanEndNew;
+                    span.draw(canvas, spannableChars, spanStart, spanEnd, x, 0, (int) y, 0, textPaint);
+                }
+            } else {
+                canvas.drawText(chars, start, end, x, y, textPaint);
+            }
+        } else {
+            canvas.drawText(chars, start, end, x, y, textPaint);
+        }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        canvas.translate(dx, dy);
+    }
+
+    @Override
+    public int getAlpha() {
+        return textPaint.getAlpha();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        textPaint.setAlpha(alpha);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Reports the phases of the ticker engine as {@link Trace} sections, so that they show up
+ * under the ticker's {@code onDraw} and animation callbacks in systrace and Perfetto captures.
+ * See {@link TickerTrace} for the phases.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+public final class AndroidTickerTracer implements TickerTrace.Tracer {
+    private static final AndroidTickerTracer INSTANCE = new AndroidTickerTracer();
+
+    private AndroidTickerTracer() {
+    }
+
+    /**
+     * Starts or stops reporting the ticker phases as trace sections. Trace sections are only
+     * supported on API 18 and above, on older releases this does nothing.
+     */
+    public static void setEnabled(boolean enabled) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            return;
+        }
+        if (enabled) {
+            TickerTrace.setTracer(INSTANCE);
+        } else if (TickerTrace.getTracer() == INSTANCE) {
+            TickerTrace.setTracer(null);
+        }
+    }
+
+    @Override
+    public void beginSection(String sectionName) {
+        Trace.beginSection(sectionName);
+    }
+
+    @Override
+    public void endSection() {
+        Trace.endSection();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.graphics.Paint;
+import android.text.Spannable;
+
+/**
+ * Text that has been prepared ahead of time for a {@link TickerView} via
+ * {@link TickerView#prepare(CharSequence)}, similar in spirit to
+ * {@link android.text.PrecomputedText}. Preparing the text splits it into the characters that
+ * make up each column and measures their widths, which can be done on a background thread so
+ * that the main thread only needs to apply the result via
+ * {@link TickerView#setText(PreparedTickerText)}.
+ *
+ * <p>The measured widths are only used if the view's text appearance hasn't changed by the time
+ * the prepared text is applied, otherwise the characters are simply measured again.
+ */
+public final class PreparedTickerText {
+    // Canonical instances for every single character in the width table, so that repeated
+    // characters share one String with an already computed hash code.
+    private static final String[] INTERNED_CHARS = new String[TickerDrawMetrics.CHAR_WIDTH_TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < INTERNED_CHARS.length; i++) {
+            INTERNED_CHARS[i] = String.valueOf((char) i);
+        }
+    }
+
+    private final CharSequence text;
+    private final CharSequence[] characters;
+
+    PreparedTickerText(CharSequence text, CharSequence[] characters) {
+        this.text = text;
+        this.characters = characters;
+    }
+
+    /**
+     * Splits {@param text} into columns and measures every column using {@param paint}. The
+     * paint must not be modified by any other thread while this runs.
+     */
+    static PreparedTickerText prepare(CharSequence text, Paint paint,
+            TickerWidthCache widthCache) {
+        final CharSequence[] characters = LevenshteinUtils.toCharArrayOfArray(text);
+        final TickerWidthCache.StyleWidths widths = widthCache.getStyleWidths(new TickerPaintSignature(paint));
+
+        for (int i = 0; i < characters.length; i++) {
+            final CharSequence character = characters[i];
+            if (character instanceof Spannable) {
+                // The widths of spans can't be shared, they will be measured by the view.
+                continue;
+            }
+
+            if (character.length() == 1 && character.charAt(0) < INTERNED_CHARS.length) {
+                final char c = character.charAt(0);
+                characters[i] = INTERNED_CHARS[c];
+                if (Float.isNaN(widths.getCharWidth(c))) {
+                    widths.putCharWidth(c, paint.measureText(characters[i], 0, 1));
+                }
+            } else if (Float.isNaN(widths.getTokenWidth(character))) {
+                widths.putTokenWidth(character,
+                        paint.measureText(character, 0, character.length()));
+            }
+        }
+
+        return new PreparedTickerText(text, characters);
+    }
+
+    /**
+     * Splits the given characters into one column per character using the interned instances.
+     *
+     * @return the columns, or null if any of the characters can't be interned and the text
+     *         needs to be split via {@link LevenshteinUtils#toCharArrayOfArray} instead.
+     */
+    static CharSequence[] toInternedCharacters(char[] chars, int start, int length) {
+        for (int i = start; i < start + length; i++) {
+            if (chars[i] >= INTERNED_CHARS.length) {
+                return null;
+            }
+        }
+
+        final CharSequence[] characters = new CharSequence[length];
+        for (int i = 0; i < length; i++) {
+            characters[i] = INTERNED_CHARS[chars[start + i]];
+        }
+        return characters;
+    }
+
+    /**
+     * @return the text that was prepared.
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    CharSequence[] getCharacters() {
+        return characters;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.animation.Interpolator;
+
+import java.util.ArrayList;
+
+/**
+ * A shared frame clock that can drive the animations of any number of {@link TickerView}s
+ * from a single {@link Choreographer} frame callback, instead of each view registering and
+ * dispatching its own {@link android.animation.ValueAnimator}. The callback is only registered
+ * while at least one ticker is animating, or while the {@link #getQualityMonitor() quality
+ * monitor} has lowered the level. In the latter case the driver keeps sampling frames even if
+ * nothing animates, since tickers that update instantly would otherwise never let the level
+ * recover.
+ *
+ * <p>The driver must only be used from the main thread. See
+ * {@link TickerView#setAnimationDriver(TickerAnimationDriver)}.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+@SuppressWarnings("ForLoopReplaceableByForEach")
+public final class TickerAnimationDriver {
+    // The fraction of the animation duration used when the quality monitor reduces quality.
+    static final float REDUCED_ANIMATION_DURATION_SCALE = 0.5f;
+
+    private static TickerAnimationDriver instance;
+
+    private final Choreographer choreographer;
+    private final ArrayList<Client> clients = new ArrayList<>();
+    private final TickerQualityMonitor qualityMonitor = new TickerQualityMonitor();
+    private boolean frameCallbackPosted;
+    // The time of the previous frame, or 0 if the previous frame did not request another one.
+    private long lastFrameTimeNanos;
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            onFrame(frameTimeNanos);
+        }
+    };
+
+    TickerAnimationDriver(Choreographer choreographer) {
+        this.choreographer = choreographer;
+        qualityMonitor.addOnLevelChangedListener(new TickerQualityMonitor.OnLevelChangedListener() {
+            @Override
+            public void onLevelChanged(TickerQualityMonitor.Level previousLevel,
+                                       TickerQualityMonitor.Level level) {
+                if (level != TickerQualityMonitor.Level.FULL) {
+                    postFrameCallback();
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the shared driver for the main thread. Must be called from the main thread.
+     */
+    public static TickerAnimationDriver getInstance() {
+        if (instance == null) {
+            instance = new TickerAnimationDriver(Choreographer.getInstance());
+        }
+        return instance;
+    }
+
+    /**
+     * @return the monitor that adjusts the animation quality of the tickers using this driver
+     *         based on how well frames keep up with their budget.
+     */
+    public TickerQualityMonitor getQualityMonitor() {
+        return qualityMonitor;
+    }
+
+    /**
+     * Starts delivering frames to {@param client} until it is cancelled.
+     */
+    void start(Client client) {
+        client.running = true;
+        if (!client.scheduled) {
+            client.scheduled = true;
+            clients.add(client);
+        }
+        postFrameCallback();
+    }
+
+    /**
+     * Stops delivering frames to {@param client}. This is safe to call from within a frame.
+     */
+    void cancel(Client client) {
+        // The client is lazily removed from the list on the next frame
+        client.running = false;
+    }
+
+    // VisibleForTesting
+    void onFrame(long frameTimeNanos) {
+        frameCallbackPosted = false;
+        if (lastFrameTimeNanos != 0) {
+            qualityMonitor.onFrameInterval(frameTimeNanos - lastFrameTimeNanos);
+        }
+
+        // Clients that start during this frame are appended to the list and will receive their
+        // first frame on the next callback.
+        final int count = clients.size();
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            final Client client = clients.get(i);
+            if (client.running) {
+                client.doFrame(frameTimeNanos);
+            }
+            if (client.running) {
+                clients.set(kept++, client);
+            } else {
+                client.scheduled = false;
+            }
+        }
+        for (int i = count, size = clients.size(); i < size; i++) {
+            clients.set(kept++, clients.get(i));
+        }
+        for (int i = clients.size() - 1; i >= kept; i--) {
+            clients.remove(i);
+        }
+
+        if (!clients.isEmpty() || qualityMonitor.getLevel() != TickerQualityMonitor.Level.FULL) {
+            postFrameCallback();
+        }
+        // Only consecutive frames tell us something about the frame rate
+        lastFrameTimeNanos = frameCallbackPosted ? frameTimeNanos : 0;
+    }
+
+    private void postFrameCallback() {
+        if (!frameCallbackPosted) {
+            frameCallbackPosted = true;
+            choreographer.postFrameCallback(frameCallback);
+        }
+    }
+
+    /**
+     * An animation that is advanced by the driver on every frame while it is running.
+     */
+    abstract static class Client {
+        // Whether the client wants to receive frames.
+        boolean running;
+        // Whether the client is currently in the driver's list of clients.
+        boolean scheduled;
+
+        boolean isRunning() {
+            return running;
+        }
+
+        abstract void doFrame(long frameTimeNanos);
+    }
+
+    /**
+     * A client that runs a single transition with a start delay, a duration and an
+     * interpolator, the same way a {@link android.animation.ValueAnimator} would.
+     */
+    abstract static class TimedClient extends Client {
+        private TickerAnimationDriver driver;
+        private long startDelayNanos;
+        private long durationNanos;
+        private Interpolator interpolator;
+        private long startTimeNanos;
+
+        /**
+         * Starts the transition on {@code driver}, restarting it if it is already running.
+         *
+         * @param reduced whether to run a shortened animation without the start delay, see
+         *                {@link TickerQualityMonitor.Level#SHORT_ANIMATIONS}.
+         */
+        void start(TickerAnimationDriver driver, long delayInMillis, long durationInMillis,
+                   Interpolator interpolator, boolean reduced) {
+            if (this.driver != driver) {
+                cancel();
+                this.driver = driver;
+            }
+            startDelayNanos = reduced ? 0 : delayInMillis * 1000000L;
+            durationNanos = (long) (durationInMillis * 1000000L
+                    * (reduced ? REDUCED_ANIMATION_DURATION_SCALE : 1f));
+            this.interpolator = interpolator;
+            // The start time is taken from the first frame that we receive
+            startTimeNanos = -1;
+            driver.start(this);
+        }
+
+        /**
+         * Stops the transition where it is, without calling {@link #onFinished()}.
+         */
+        void cancel() {
+            if (driver != null) {
+                driver.cancel(this);
+            }
+        }
+
+        @Override
+        final void doFrame(long frameTimeNanos) {
+            if (startTimeNanos < 0) {
+                startTimeNanos = frameTimeNanos + startDelayNanos;
+            }
+            if (frameTimeNanos < startTimeNanos) {
+                return;
+            }
+
+            final float fraction = durationNanos > 0
+                    ? Math.min(1f, (frameTimeNanos - startTimeNanos) / (float) durationNanos)
+                    : 1f;
+            onProgress(interpolator.getInterpolation(fraction));
+
+            if (fraction == 1f) {
+                // Stop before notifying so that the client can be restarted right away
+                driver.cancel(this);
+                onFinished();
+            }
+        }
+
+        /**
+         * @param progress the interpolated progress of the transition.
+         */
+        abstract void onProgress(float progress);
+
+        /**
+         * Called after the last frame of the transition, unless it was cancelled.
+         */
+        abstract void onFinished();
+    }
+}
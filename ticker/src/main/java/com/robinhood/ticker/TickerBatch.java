@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A transaction for updating many {@link TickerView}s at once, e.g. when a new snapshot of a
+ * watchlist arrives. Each update is prepared as soon as it is added to the batch (see
+ * {@link TickerView#prepare(CharSequence)}), and {@link #commit()} then applies all of them
+ * together in a single main thread message. All of the resulting animations therefore start on
+ * the same frame and any re-layouts they require are handled in the same layout pass.
+ *
+ * <pre>
+ * final TickerBatch batch = TickerBatch.begin();
+ * batch.setText(tickerView1, "123");
+ * batch.setText(tickerView2, "456");
+ * batch.commit();
+ * </pre>
+ *
+ * <p>A batch can be built and committed from any thread, but only from one thread at a time.
+ */
+public final class TickerBatch {
+    // Whether each update animates, see animations.
+    private static final int ANIMATION_DEFAULT = 0;
+    private static final int ANIMATION_ON = 1;
+    private static final int ANIMATION_OFF = 2;
+
+    private static Handler mainHandler;
+
+    private final ArrayList<TickerView> views = new ArrayList<>();
+    private final ArrayList<PreparedTickerText> texts = new ArrayList<>();
+    // One of the ANIMATION_* constants per update, parallel to views and texts.
+    private int[] animations = new int[8];
+    private boolean committed;
+
+    private final Runnable apply = new Runnable() {
+        @Override
+        public void run() {
+            apply();
+        }
+    };
+
+    private TickerBatch() {
+    }
+
+    /**
+     * @return a new, empty batch.
+     */
+    public static TickerBatch begin() {
+        return new TickerBatch();
+    }
+
+    /**
+     * Adds an update to the batch that behaves like {@link TickerView#setText(CharSequence)}
+     * once the batch is committed.
+     *
+     * @param view the view to update.
+     * @param text the text to display.
+     * @return this batch.
+     */
+    public TickerBatch setText(TickerView view, CharSequence text) {
+        return setText(view, text, ANIMATION_DEFAULT);
+    }
+
+    /**
+     * Adds an update to the batch that behaves like
+     * {@link TickerView#setText(CharSequence, boolean)} once the batch is committed.
+     *
+     * @param view the view to update.
+     * @param text the text to display.
+     * @param animate whether to animate to text.
+     * @return this batch.
+     */
+    public TickerBatch setText(TickerView view, CharSequence text, boolean animate) {
+        return setText(view, text, animate ? ANIMATION_ON : ANIMATION_OFF);
+    }
+
+    private TickerBatch setText(TickerView view, CharSequence text, int animation) {
+        if (committed) {
+            throw new IllegalStateException("This batch has already been committed.");
+        }
+        final int index = views.size();
+        if (index == animations.length) {
+            animations = Arrays.copyOf(animations, index * 2);
+        }
+        views.add(view);
+        texts.add(view.prepare(text));
+        animations[index] = animation;
+        return this;
+    }
+
+    /**
+     * Applies every update in this batch. If this is called from the main thread the updates are
+     * applied immediately, otherwise they are posted to the main thread as a single message.
+     */
+    public void commit() {
+        if (committed) {
+            throw new IllegalStateException("This batch has already been committed.");
+        }
+        committed = true;
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            apply();
+        } else {
+            getMainHandler().post(apply);
+        }
+    }
+
+    private void apply() {
+        for (int i = 0, size = views.size(); i < size; i++) {
+            final int animation = animations[i];
+            if (animation == ANIMATION_DEFAULT) {
+                views.get(i).setText(texts.get(i));
+            } else {
+                views.get(i).setText(texts.get(i), animation == ANIMATION_ON);
+            }
+        }
+    }
+
+    private static synchronized Handler getMainHandler() {
+        if (mainHandler == null) {
+            mainHandler = new Handler(Looper.getMainLooper());
+        }
+        return mainHandler;
+    }
+}
@@ -20,95 +20,130 @@ import android.graphics.Paint;
 import android.text.Spannable;
 import android.text.style.ReplacementSpan;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * This wrapper class represents some core drawing metrics that {@link TickerView} and
  * {@link TickerColumnManager} require to calculate the positions and offsets for rendering
- * the text onto the canvas.
+ * the text onto the canvas. The widths are measured on the text paint and cached by
+ * {@link CachingTickerMeasurer}.
  *
  * @author Jin Cao
  */
-class TickerDrawMetrics {
-    private final Paint textPaint;
-
+class TickerDrawMetrics extends CachingTickerMeasurer {
     // These are attributes on the text paint used for measuring and drawing the text on the
     // canvas. These attributes are reset whenever anything on the text paint changes.
-    private final Map<CharSequence, Float> charWidths = new HashMap<>(256);
+    private final Paint textPaint;
     private float charHeight, charBaseline;
 
-    private TickerView.ScrollingDirection preferredScrollingDirection = TickerView.ScrollingDirection.ANY;
+    private int preferredScrollingDirection = TickerCharacterList.DIRECTION_ANY;
 
     TickerDrawMetrics(Paint textPaint) {
+        this(textPaint, null);
+    }
+
+    TickerDrawMetrics(Paint textPaint, TickerWidthCache sharedWidthCache) {
+        super(sharedWidthCache);
         this.textPaint = textPaint;
-        invalidate();
     }
 
-    void invalidate() {
-        charWidths.clear();
+    @Override
+    void validate() {
+        super.validate();
         final Paint.FontMetrics fm = textPaint.getFontMetrics();
         charHeight = fm.bottom - fm.top;
         charBaseline = -fm.top;
     }
 
-    float getCharWidth(CharSequence character) {
-        if (LevenshteinUtils.equalsCharArrays(character, TickerUtils.EMPTY_CHAR)) {
-            return 0;
-        }
+    @Override
+    float measureText(CharSequence text, int start, int end) {
+        return textPaint.measureText(text, start, end);
+    }
+
+    @Override
+    float measureText(char[] text, int index, int count) {
+        return textPaint.measureText(text, index, count);
+    }
 
-        // This method will lazily initialize the char width map.
-        final Float value = charWidths.get(character);
-        if (value != null) {
-            return value;
-        } else {
-            float width = 0;
-            if (character instanceof Spannable) {
-                Spannable spannableChars = ((Spannable) character);
-                int spanStart = 0;
-                int spanStartNew;
-                int spanEnd = 0;
-                int spanEndNew;
-                ReplacementSpan[] emojiSpans = spannableChars.getSpans(0, spannableChars.length(), ReplacementSpan.class);
-                if (emojiSpans.length != 0) {
-                    for (ReplacementSpan span : emojiSpans) {
-                        spanStartNew = spannableChars.getSpanStart(span);
-                        spanEndNew = spannableChars.getSpanEnd(span);
-                        if (spanEnd != spanStartNew) {
-                            width += textPaint.measureText(character, spanEnd, spanStartNew);
-                        }
-                        if (spanStart != spanStartNew) {
-                            width += textPaint.measureText(character, spanStart, spanStartNew);
-                        }
-                        spanStart = spanStartNew;
-                        spanEnd = spanEndNew;
-                        width += span.getSize(textPaint, spannableChars, spanStart, spanEnd, textPaint.getFontMetricsInt());
-                    }
-                }else {
-                    width = textPaint.measureText(character, 0, character.length());
+    @Override
+    Object getWidthSignature() {
+        return new TickerPaintSignature(textPaint);
+    }
+
+    @Override
+    TickerWidthCache.CharMeasurer createPrewarmMeasurer() {
+        final Paint paint = new Paint(textPaint);
+        return new TickerWidthCache.CharMeasurer() {
+            @Override
+            public float measureChar(char[] chars, int index) {
+                return paint.measureText(chars, index, 1);
+            }
+        };
+    }
+
+    @Override
+    boolean isPlainText(CharSequence character) {
+        return !(character instanceof Spannable);
+    }
+
+    @Override
+    float measureStyledText(CharSequence character) {
+        float width = 0;
+        Spannable spannableChars = ((Spannable) character);
+        int spanStart = 0;
+        int spanStartNew;
+        int spanEnd = 0;
+        int spanEndNew;
+        ReplacementSpan[] emojiSpans = spannableChars.getSpans(0, spannableChars.length(), ReplacementSpan.class);
+        if (emojiSpans.length != 0) {
+            for (ReplacementSpan span : emojiSpans) {
+                spanStartNew = spannableChars.getSpanStart(span);
+                spanEndNew = spannableChars.getSpanEnd(span);
+                if (spanEnd != spanStartNew) {
+                    width += textPaint.measureText(character, spanEnd, spanStartNew);
+                    onMeasureText();
                 }
-                charWidths.put(character, width);
-            } else {
-                width = textPaint.measureText(character, 0, character.length());
-                charWidths.put(character, width);
+                if (spanStart != spanStartNew) {
+                    width += textPaint.measureText(character, spanStart, spanStartNew);
+                    onMeasureText();
+                }
+                spanStart = spanStartNew;
+                spanEnd = spanEndNew;
+                width += span.getSize(textPaint, spannableChars, spanStart, spanEnd, textPaint.getFontMetricsInt());
+                onMeasureText();
             }
-            return width;
+        }else {
+            width = textPaint.measureText(character, 0, character.length());
+            onMeasureText();
         }
+        return width;
     }
 
-    float getCharHeight() {
+    @Override
+    public float getCharHeight() {
+        validateIfStale();
         return charHeight;
     }
 
     float getCharBaseline() {
+        validateIfStale();
         return charBaseline;
     }
 
-    TickerView.ScrollingDirection getPreferredScrollingDirection() {
+    @Override
+    public int getPreferredScrollingDirection() {
         return preferredScrollingDirection;
     }
 
     void setPreferredScrollingDirection(TickerView.ScrollingDirection preferredScrollingDirection) {
-        this.preferredScrollingDirection = preferredScrollingDirection;
+        switch (preferredScrollingDirection) {
+            case UP:
+                this.preferredScrollingDirection = TickerCharacterList.DIRECTION_UP;
+                break;
+            case DOWN:
+                this.preferredScrollingDirection = TickerCharacterList.DIRECTION_DOWN;
+                break;
+            default:
+                this.preferredScrollingDirection = TickerCharacterList.DIRECTION_ANY;
+                break;
+        }
     }
 }
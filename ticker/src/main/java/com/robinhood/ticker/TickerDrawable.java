@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.view.Gravity;
+import android.view.animation.Interpolator;
+
+/**
+ * A {@link Drawable} that renders and animates ticker text the same way {@link TickerView}
+ * does, without the cost of a view. This makes it possible to draw tickers wherever a drawable
+ * can go, e.g. as a compound drawable, inside an item decoration or as a label on a chart.
+ *
+ * <p>Every animation frame is pushed to the host through {@link Drawable.Callback}, so the
+ * drawable has to be attached to a callback (which views do automatically for their drawables)
+ * for the animation to show. The intrinsic size follows the text, but since drawables cannot
+ * request a layout, hosts that size the drawable to its intrinsic size need to update its
+ * bounds themselves after changing the text.
+ *
+ * <p>Setting new text while an animation is running retargets the running animation, and
+ * hiding the drawable via {@link #setVisible(boolean, boolean)} skips to the end of it.
+ */
+public class TickerDrawable extends Drawable {
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+
+    private final TickerDrawMetrics metrics = new TickerDrawMetrics(textPaint, TickerWidthCache.getInstance());
+    private final TickerColumnManager columnManager = new TickerColumnManager(metrics);
+    private final AndroidTickerCanvas tickerCanvas = new AndroidTickerCanvas();
+
+    private ValueAnimator animator;
+    private final DriverAnimation driverAnimation = new DriverAnimation();
+    private TickerAnimationDriver animationDriver;
+
+    private final Rect drawBounds = new Rect();
+    private final float[] gravityTranslation = new float[2];
+
+    private CharSequence text;
+    // Whether the text is only shown once the character lists are set.
+    private boolean textPending;
+    private int gravity = TickerView.DEFAULT_GRAVITY;
+    private long animationDelayInMillis;
+    private long animationDurationInMillis = TickerView.DEFAULT_ANIMATION_DURATION;
+    private Interpolator animationInterpolator = TickerView.DEFAULT_ANIMATION_INTERPOLATOR;
+    // Whether the animator is being cancelled only to restart it with new text.
+    private boolean restartingAnimation;
+
+    public TickerDrawable() {
+        textPaint.setColor(TickerView.DEFAULT_TEXT_COLOR);
+    }
+
+    /**
+     * @see TickerView#setCharacterLists(String...)
+     */
+    public void setCharacterLists(String... characterLists) {
+        columnManager.setCharacterLists(characterLists);
+        if (textPending) {
+            textPending = false;
+            setTextInternal(text, false);
+        }
+    }
+
+    /**
+     * @see TickerView#isCharacterListsSet()
+     */
+    public boolean isCharacterListsSet() {
+        return columnManager.getCharacterLists() != null;
+    }
+
+    /**
+     * Sets the string value to display, animating to it if the drawable already shows text.
+     *
+     * @param text the text to display.
+     */
+    public void setText(CharSequence text) {
+        setText(text, !TextUtils.isEmpty(this.text));
+    }
+
+    /**
+     * Sets the string value to display. Text that is set before the character lists is shown
+     * without animation once they are set.
+     *
+     * @param text the text to display.
+     * @param animate whether to animate to text.
+     */
+    public void setText(CharSequence text, boolean animate) {
+        TickerStats.record(null, TickerStats.Counter.SET_TEXT_CALLS);
+        if (TextUtils.equals(text, this.text)) {
+            return;
+        }
+        this.text = text;
+
+        if (!isCharacterListsSet()) {
+            textPending = true;
+            return;
+        }
+        setTextInternal(text, animate);
+    }
+
+    private void setTextInternal(CharSequence text, boolean animate) {
+        if (animator != null && animator.isRunning()) {
+            // The columns carry over the state of the interrupted animation
+            restartingAnimation = true;
+            animator.cancel();
+            restartingAnimation = false;
+        } else if (driverAnimation.isRunning()) {
+            driverAnimation.cancel();
+        }
+
+        // Drawables never have focus, so they update instantly at the lowest quality level
+        final TickerQualityMonitor.Level level = animationDriver != null
+                ? animationDriver.getQualityMonitor().getLevel()
+                : TickerQualityMonitor.Level.FULL;
+        columnManager.setCrossFade(level.compareTo(TickerQualityMonitor.Level.CROSS_FADE) >= 0);
+        columnManager.setText(text == null ? "" : text);
+
+        if (!animate || level == TickerQualityMonitor.Level.INSTANT) {
+            columnManager.setAnimationProgress(1f);
+            onAnimationFinished();
+        } else if (animationDriver != null) {
+            driverAnimation.start(animationDriver, animationDelayInMillis,
+                    animationDurationInMillis, animationInterpolator,
+                    level != TickerQualityMonitor.Level.FULL);
+        } else {
+            final ValueAnimator animator = getAnimator();
+            animator.setStartDelay(animationDelayInMillis);
+            animator.setDuration(animationDurationInMillis);
+            animator.setInterpolator(animationInterpolator);
+            animator.start();
+        }
+    }
+
+    /**
+     * The animator is only created once the drawable first animates without a driver.
+     */
+    private ValueAnimator getAnimator() {
+        if (animator == null) {
+            animator = ValueAnimator.ofFloat(1f);
+            animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    onAnimationProgress(animation.getAnimatedFraction());
+                }
+            });
+
+            animator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    if (!restartingAnimation) {
+                        onAnimationFinished();
+                    }
+                }
+            });
+        }
+        return animator;
+    }
+
+    private void onAnimationProgress(float animatedFraction) {
+        TickerStats.record(null, TickerStats.Counter.FRAMES_ANIMATED);
+        columnManager.setAnimationProgress(animatedFraction);
+        invalidateSelf();
+    }
+
+    private void onAnimationFinished() {
+        columnManager.onAnimationEnd();
+        invalidateSelf();
+    }
+
+    /**
+     * @return the last set text. This does not equate to the text currently drawn because the
+     *         animation might not have finished yet.
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    public int getTextColor() {
+        return textPaint.getColor();
+    }
+
+    public void setTextColor(int color) {
+        if (textPaint.getColor() != color) {
+            textPaint.setColor(color);
+            invalidateSelf();
+        }
+    }
+
+    public float getTextSize() {
+        return textPaint.getTextSize();
+    }
+
+    /**
+     * @param textSize the text size in pixel units.
+     */
+    public void setTextSize(float textSize) {
+        if (textPaint.getTextSize() != textSize) {
+            textPaint.setTextSize(textSize);
+            onTextPaintMeasurementChanged();
+        }
+    }
+
+    public Typeface getTypeface() {
+        return textPaint.getTypeface();
+    }
+
+    public void setTypeface(Typeface typeface) {
+        textPaint.setTypeface(typeface);
+        onTextPaintMeasurementChanged();
+    }
+
+    /**
+     * @see TickerView#setPaintFlags(int)
+     */
+    public void setPaintFlags(int flags) {
+        textPaint.setFlags(flags);
+        onTextPaintMeasurementChanged();
+    }
+
+    public long getAnimationDelay() {
+        return animationDelayInMillis;
+    }
+
+    public void setAnimationDelay(long animationDelayInMillis) {
+        this.animationDelayInMillis = animationDelayInMillis;
+    }
+
+    public long getAnimationDuration() {
+        return animationDurationInMillis;
+    }
+
+    public void setAnimationDuration(long animationDurationInMillis) {
+        this.animationDurationInMillis = animationDurationInMillis;
+    }
+
+    public Interpolator getAnimationInterpolator() {
+        return animationInterpolator;
+    }
+
+    public void setAnimationInterpolator(Interpolator animationInterpolator) {
+        this.animationInterpolator = animationInterpolator;
+    }
+
+    /**
+     * @see TickerView#setPreferredScrollingDirection(TickerView.ScrollingDirection)
+     */
+    public void setPreferredScrollingDirection(TickerView.ScrollingDirection direction) {
+        metrics.setPreferredScrollingDirection(direction);
+    }
+
+    public int getGravity() {
+        return gravity;
+    }
+
+    /**
+     * Sets how the text is aligned within the bounds of the drawable when they are larger than
+     * the text. The default gravity is {@link Gravity#START}.
+     */
+    public void setGravity(int gravity) {
+        if (this.gravity != gravity) {
+            this.gravity = gravity;
+            invalidateSelf();
+        }
+    }
+
+    /**
+     * @see TickerView#setAnimationDriver(TickerAnimationDriver)
+     */
+    public void setAnimationDriver(TickerAnimationDriver animationDriver) {
+        if (this.animationDriver == animationDriver) {
+            return;
+        }
+
+        // Any animation that is currently running ends immediately
+        endAnimation();
+        this.animationDriver = animationDriver;
+    }
+
+    /**
+     * @return the shared animation driver used by this drawable, or null if it uses its own
+     *         {@link ValueAnimator}.
+     */
+    public TickerAnimationDriver getAnimationDriver() {
+        return animationDriver;
+    }
+
+    /**
+     * Listeners are not notified of animations that run on an animation driver, see
+     * {@link #setAnimationDriver(TickerAnimationDriver)}.
+     */
+    public void addAnimatorListener(Animator.AnimatorListener animatorListener) {
+        getAnimator().addListener(animatorListener);
+    }
+
+    public void removeAnimatorListener(Animator.AnimatorListener animatorListener) {
+        if (animator != null) {
+            animator.removeListener(animatorListener);
+        }
+    }
+
+    private void endAnimation() {
+        if (animator != null && animator.isRunning()) {
+            animator.end();
+        } else if (driverAnimation.isRunning()) {
+            driverAnimation.cancel();
+            columnManager.setAnimationProgress(1f);
+            onAnimationFinished();
+        }
+    }
+
+    private void onTextPaintMeasurementChanged() {
+        metrics.invalidate();
+        invalidateSelf();
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return (int) Math.ceil(columnManager.getMinimumRequiredWidth());
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return (int) Math.ceil(metrics.getCharHeight());
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        final boolean changed = super.setVisible(visible, restart);
+        if (!visible) {
+            // There is nothing to look at, so skip straight to the end
+            endAnimation();
+        }
+        return changed;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        final Rect bounds = getBounds();
+        final float currentWidth = columnManager.getCurrentWidth();
+        final float currentHeight = metrics.getCharHeight();
+        drawBounds.set(0, 0, bounds.width(), bounds.height());
+        TickerView.computeGravityTranslation(gravity, drawBounds, currentWidth, currentHeight,
+                gravityTranslation);
+
+        canvas.save();
+        canvas.translate(bounds.left + gravityTranslation[0], bounds.top + gravityTranslation[1]);
+        canvas.clipRect(0f, 0f, currentWidth, currentHeight);
+
+        // canvas.drawText writes the text on the baseline so we need to translate beforehand.
+        canvas.translate(0f, metrics.getCharBaseline());
+
+        columnManager.draw(tickerCanvas.wrap(canvas, textPaint));
+
+        canvas.restore();
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        textPaint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return textPaint.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        textPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    /**
+     * Runs a single transition on {@link #animationDriver}, mirroring the timing of the
+     * {@link ValueAnimator} used otherwise.
+     */
+    private final class DriverAnimation extends TickerAnimationDriver.TimedClient {
+        @Override
+        void onProgress(float progress) {
+            onAnimationProgress(progress);
+        }
+
+        @Override
+        void onFinished() {
+            onAnimationFinished();
+        }
+    }
+}
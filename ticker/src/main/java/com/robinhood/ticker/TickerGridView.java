@@ -0,0 +1,597 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.view.Gravity;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+/**
+ * A single view that renders a grid of ticker cells, e.g. the numeric cells of a watchlist.
+ * All cells share one {@link TextPaint}, one set of draw metrics and character lists, and a
+ * shared {@link TickerAnimationDriver} that advances every animating cell, so a whole grid
+ * costs one measure and layout pass and one draw traversal instead of one per cell.
+ *
+ * <p>Cells are addressed by their row and column, see {@link #setCellText(int, int,
+ * CharSequence)}. Each grid column is as wide as its widest cell and the text of a cell is
+ * aligned within its column according to {@link #setCellGravity(int)}.
+ *
+ * <p>The grid reads the same XML attributes as {@link TickerView}, where
+ * {@code android:gravity} sets the cell gravity.
+ *
+ * <p>Setting new text on a cell while it is animating retargets the running animation. Cells
+ * animate on a {@link TickerAnimationDriver}, which requires API 16, so on older versions cells
+ * always update without animation.
+ */
+public class TickerGridView extends View {
+    private static final int DEFAULT_CELL_GRAVITY = Gravity.END;
+
+    private final TextPaint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TickerDrawMetrics metrics = new TickerDrawMetrics(textPaint, TickerWidthCache.getInstance());
+    // Owns the character lists that are shared by all cells, it never holds any text itself.
+    private final TickerColumnManager characterListsManager = new TickerColumnManager(metrics);
+    private TickerAnimationDriver animationDriver;
+    private final AndroidTickerCanvas tickerCanvas = new AndroidTickerCanvas();
+
+    private int rowCount, columnCount;
+    private Cell[] cells = new Cell[0];
+    // The widest minimum required width of each column, see updateColumnWidth.
+    private float[] columnWidths = new float[0];
+    private int columnWidthsGeneration;
+
+    private int cellGravity = DEFAULT_CELL_GRAVITY;
+    private int horizontalSpacing, verticalSpacing;
+    private long animationDurationInMillis = TickerView.DEFAULT_ANIMATION_DURATION;
+    private Interpolator animationInterpolator = TickerView.DEFAULT_ANIMATION_INTERPOLATOR;
+
+    private int lastMeasuredDesiredWidth, lastMeasuredDesiredHeight;
+
+    // Per-view counters on top of the global ones, see setStats.
+    private TickerStats stats;
+
+    public TickerGridView(Context context) {
+        super(context);
+        init(context, null, 0);
+    }
+
+    public TickerGridView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init(context, attrs, 0);
+    }
+
+    public TickerGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init(context, attrs, defStyleAttr);
+    }
+
+    private void init(Context context, AttributeSet attrs, int defStyleAttr) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            animationDriver = TickerAnimationDriver.getInstance();
+        }
+
+        final TickerStyle style =
+                TickerStyle.obtain(context, attrs, defStyleAttr, 0, DEFAULT_CELL_GRAVITY);
+        cellGravity = style.gravity;
+        animationDurationInMillis = style.animationDurationInMillis;
+        metrics.setUniformCharacterListWidth(style.uniformCharacterWidth);
+        metrics.setPreferredScrollingDirection(style.preferredScrollingDirection);
+
+        if (style.shadowColor != 0) {
+            textPaint.setShadowLayer(style.shadowRadius, style.shadowDx, style.shadowDy,
+                    style.shadowColor);
+        }
+        if (style.textStyle != 0) {
+            textPaint.setTypeface(Typeface.create(textPaint.getTypeface(), style.textStyle));
+        }
+        textPaint.setColor(style.textColor);
+        textPaint.setTextSize(style.textSize);
+        metrics.invalidate();
+
+        if (style.characterLists != null) {
+            // The lists are shared with other views, but the measurements are our own.
+            metrics.setCharacterLists(style.characterLists);
+            characterListsManager.setCharacterLists(style.characterLists,
+                    style.supportedCharacters);
+        } else if (isInEditMode()) {
+            characterListsManager.setCharacterLists(TickerUtils.provideNumberList());
+        }
+    }
+
+    /**
+     * Sets the number of rows and columns of the grid. Cells that remain inside the new grid
+     * keep their text, cells outside of it are dropped.
+     */
+    public void setGridSize(int rowCount, int columnCount) {
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Grid size must not be negative.");
+        }
+        if (this.rowCount == rowCount && this.columnCount == columnCount) {
+            return;
+        }
+
+        final Cell[] cells = new Cell[rowCount * columnCount];
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                final Cell cell;
+                if (row < this.rowCount && column < this.columnCount) {
+                    cell = this.cells[row * this.columnCount + column];
+                } else {
+                    cell = new Cell(new TickerColumnManager(metrics));
+                    cell.columnManager.setStats(stats);
+                    if (isCharacterListsSet()) {
+                        cell.columnManager.setCharacterLists(
+                                characterListsManager.getCharacterLists(),
+                                characterListsManager.getSupportedCharacters());
+                    }
+                }
+                cell.column = column;
+                cells[row * columnCount + column] = cell;
+            }
+        }
+
+        // Cells outside of the new grid stop animating
+        for (int row = 0; row < this.rowCount; row++) {
+            for (int column = 0; column < this.columnCount; column++) {
+                if (row >= rowCount || column >= columnCount) {
+                    this.cells[row * this.columnCount + column].cancel();
+                }
+            }
+        }
+
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+        this.cells = cells;
+        this.columnWidths = new float[columnCount];
+        invalidateColumnWidths();
+
+        checkForRelayout();
+        invalidate();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * @see TickerView#setCharacterLists(String...)
+     */
+    public void setCharacterLists(String... characterLists) {
+        characterListsManager.setCharacterLists(characterLists);
+        for (int i = 0; i < cells.length; i++) {
+            cells[i].columnManager.setCharacterLists(characterListsManager.getCharacterLists(),
+                    characterListsManager.getSupportedCharacters());
+        }
+    }
+
+    /**
+     * @see TickerView#isCharacterListsSet()
+     */
+    public boolean isCharacterListsSet() {
+        return characterListsManager.getCharacterLists() != null;
+    }
+
+    /**
+     * Sets the text of a cell, animating to it if the cell already shows text. Before API 16,
+     * where there is no {@link TickerAnimationDriver}, the text is shown without animation.
+     */
+    public void setCellText(int row, int column, CharSequence text) {
+        final Cell cell = getCell(row, column);
+        setCellText(cell, text, !TextUtils.isEmpty(cell.text));
+    }
+
+    /**
+     * Sets the text of a cell.
+     *
+     * @param animate whether to animate to text.
+     */
+    public void setCellText(int row, int column, CharSequence text, boolean animate) {
+        setCellText(getCell(row, column), text, animate);
+    }
+
+    /**
+     * @return the last text set on the cell.
+     */
+    public CharSequence getCellText(int row, int column) {
+        return getCell(row, column).text;
+    }
+
+    private Cell getCell(int row, int column) {
+        if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+            throw new IllegalArgumentException("Cell (" + row + ", " + column
+                    + ") is outside of the " + rowCount + "x" + columnCount + " grid.");
+        }
+        return cells[row * columnCount + column];
+    }
+
+    private void setCellText(Cell cell, CharSequence text, boolean animate) {
+        TickerStats.record(stats, TickerStats.Counter.SET_TEXT_CALLS);
+        if (TextUtils.equals(text, cell.text)) {
+            return;
+        }
+        cell.text = text;
+
+        // The grid has no focused cell, so cells update instantly at the lowest quality level
+        final TickerQualityMonitor.Level level = animationDriver != null
+                ? animationDriver.getQualityMonitor().getLevel()
+                : TickerQualityMonitor.Level.FULL;
+        cell.columnManager.setCrossFade(
+                level.compareTo(TickerQualityMonitor.Level.CROSS_FADE) >= 0);
+
+        // If the cell is already animating, its columns carry over the interrupted state
+        cell.columnManager.setText(text == null ? "" : text);
+        if (animate && animationDriver != null && level != TickerQualityMonitor.Level.INSTANT) {
+            cell.start(animationDriver, 0, animationDurationInMillis, animationInterpolator,
+                    level != TickerQualityMonitor.Level.FULL);
+        } else {
+            cell.cancel();
+            cell.columnManager.setAnimationProgress(1f);
+            cell.columnManager.onAnimationEnd();
+        }
+
+        onCellWidthChanged(cell);
+        checkForRelayout();
+        invalidate();
+    }
+
+    /**
+     * Skips to the end of every running animation.
+     */
+    private void endAnimations() {
+        boolean ended = false;
+        for (int i = 0; i < cells.length; i++) {
+            final Cell cell = cells[i];
+            if (cell.isRunning()) {
+                cell.cancel();
+                cell.columnManager.setAnimationProgress(1f);
+                cell.columnManager.onAnimationEnd();
+                onCellWidthChanged(cell);
+                ended = true;
+            }
+        }
+        if (ended) {
+            checkForRelayout();
+            invalidate();
+        }
+    }
+
+    public int getTextColor() {
+        return textPaint.getColor();
+    }
+
+    public void setTextColor(int color) {
+        if (textPaint.getColor() != color) {
+            textPaint.setColor(color);
+            invalidate();
+        }
+    }
+
+    public float getTextSize() {
+        return textPaint.getTextSize();
+    }
+
+    /**
+     * @param textSize the text size in pixel units.
+     */
+    public void setTextSize(float textSize) {
+        if (textPaint.getTextSize() != textSize) {
+            textPaint.setTextSize(textSize);
+            onTextPaintMeasurementChanged();
+        }
+    }
+
+    public Typeface getTypeface() {
+        return textPaint.getTypeface();
+    }
+
+    public void setTypeface(Typeface typeface) {
+        textPaint.setTypeface(typeface);
+        onTextPaintMeasurementChanged();
+    }
+
+    public long getAnimationDuration() {
+        return animationDurationInMillis;
+    }
+
+    public void setAnimationDuration(long animationDurationInMillis) {
+        this.animationDurationInMillis = animationDurationInMillis;
+    }
+
+    public Interpolator getAnimationInterpolator() {
+        return animationInterpolator;
+    }
+
+    public void setAnimationInterpolator(Interpolator animationInterpolator) {
+        this.animationInterpolator = animationInterpolator;
+    }
+
+    /**
+     * @see TickerView#setPreferredScrollingDirection(TickerView.ScrollingDirection)
+     */
+    public void setPreferredScrollingDirection(TickerView.ScrollingDirection direction) {
+        metrics.setPreferredScrollingDirection(direction);
+    }
+
+    public int getCellGravity() {
+        return cellGravity;
+    }
+
+    /**
+     * Sets how the text of a cell is aligned horizontally within its column, e.g.
+     * {@link Gravity#START}, {@link Gravity#CENTER_HORIZONTAL} or {@link Gravity#END}. START
+     * and END follow the layout direction. The default is {@link Gravity#END}, which lines up
+     * numbers of different lengths.
+     */
+    public void setCellGravity(int cellGravity) {
+        if (this.cellGravity != cellGravity) {
+            this.cellGravity = cellGravity;
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the space between adjacent columns and rows of the grid.
+     *
+     * @param horizontalSpacing the space between columns in pixels.
+     * @param verticalSpacing the space between rows in pixels.
+     */
+    public void setSpacing(int horizontalSpacing, int verticalSpacing) {
+        if (this.horizontalSpacing != horizontalSpacing
+                || this.verticalSpacing != verticalSpacing) {
+            this.horizontalSpacing = horizontalSpacing;
+            this.verticalSpacing = verticalSpacing;
+            checkForRelayout();
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the {@link TickerAnimationDriver} that advances the animations of all cells. Cells
+     * follow the quality level of its {@link TickerAnimationDriver#getQualityMonitor() quality
+     * monitor}, like {@link TickerView#setAnimationDriver(TickerAnimationDriver)}.
+     *
+     * <p>The default is {@link TickerAnimationDriver#getInstance()}. The driver requires API 16,
+     * so on older versions the default is null, which updates cells without animation.
+     *
+     * @param animationDriver the driver to run animations from, or null.
+     */
+    public void setAnimationDriver(TickerAnimationDriver animationDriver) {
+        if (this.animationDriver != animationDriver) {
+            // Any animation that is currently running ends immediately
+            endAnimations();
+            this.animationDriver = animationDriver;
+        }
+    }
+
+    public TickerAnimationDriver getAnimationDriver() {
+        return animationDriver;
+    }
+
+    /**
+     * @see TickerView#setStats(TickerStats)
+     */
+    public void setStats(TickerStats stats) {
+        this.stats = stats;
+        metrics.setStats(stats);
+        for (int i = 0; i < cells.length; i++) {
+            cells[i].columnManager.setStats(stats);
+        }
+    }
+
+    public TickerStats getStats() {
+        return stats;
+    }
+
+    private void onTextPaintMeasurementChanged() {
+        metrics.invalidate();
+        checkForRelayout();
+        invalidate();
+    }
+
+    private void checkForRelayout() {
+        if (lastMeasuredDesiredWidth != computeDesiredWidth()
+                || lastMeasuredDesiredHeight != computeDesiredHeight()) {
+            requestLayout();
+        }
+    }
+
+    /**
+     * Makes the next {@link #getColumnWidths()} recompute the width of every column.
+     */
+    private void invalidateColumnWidths() {
+        columnWidthsGeneration = metrics.getGeneration() - 1;
+    }
+
+    /**
+     * @return the width of each column. The widths are cached and only recomputed for columns
+     *         whose cells changed their minimum required width, see
+     *         {@link #onCellWidthChanged(Cell)}, or for all columns when the metrics changed.
+     */
+    private float[] getColumnWidths() {
+        if (columnWidthsGeneration != metrics.getGeneration()) {
+            columnWidthsGeneration = metrics.getGeneration();
+            for (int column = 0; column < columnCount; column++) {
+                updateColumnWidth(column);
+            }
+        }
+        return columnWidths;
+    }
+
+    /**
+     * Updates the cached width of the column of {@code cell} if the minimum required width of
+     * the cell changed.
+     */
+    private void onCellWidthChanged(Cell cell) {
+        // Stale widths are recomputed for all columns on the next use anyway
+        if (columnWidthsGeneration != metrics.getGeneration()) return;
+
+        if (cell.minimumRequiredWidth != cell.columnManager.getMinimumRequiredWidth()) {
+            updateColumnWidth(cell.column);
+        }
+    }
+
+    /**
+     * Updates {@link #columnWidths} with the widest cell of {@code column}.
+     */
+    private void updateColumnWidth(int column) {
+        float width = 0f;
+        for (int row = 0; row < rowCount; row++) {
+            final Cell cell = cells[row * columnCount + column];
+            cell.minimumRequiredWidth = cell.columnManager.getMinimumRequiredWidth();
+            width = Math.max(width, cell.minimumRequiredWidth);
+        }
+        columnWidths[column] = width;
+    }
+
+    private int computeDesiredWidth() {
+        final float[] columnWidths = getColumnWidths();
+        float contentWidth = 0f;
+        for (int column = 0; column < columnCount; column++) {
+            contentWidth += columnWidths[column];
+        }
+        if (columnCount > 1) {
+            contentWidth += horizontalSpacing * (columnCount - 1);
+        }
+        return (int) Math.ceil(contentWidth) + getPaddingLeft() + getPaddingRight();
+    }
+
+    private int computeDesiredHeight() {
+        float contentHeight = metrics.getCharHeight() * rowCount;
+        if (rowCount > 1) {
+            contentHeight += verticalSpacing * (rowCount - 1);
+        }
+        return (int) Math.ceil(contentHeight) + getPaddingTop() + getPaddingBottom();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        lastMeasuredDesiredWidth = computeDesiredWidth();
+        lastMeasuredDesiredHeight = computeDesiredHeight();
+
+        int desiredWidth = resolveSize(lastMeasuredDesiredWidth, widthMeasureSpec);
+        int desiredHeight = resolveSize(lastMeasuredDesiredHeight, heightMeasureSpec);
+
+        setMeasuredDimension(desiredWidth, desiredHeight);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // There is nothing to look at, so skip straight to the end of every animation
+        endAnimations();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        final float[] columnWidths = getColumnWidths();
+        final float charHeight = metrics.getCharHeight();
+        final float charBaseline = metrics.getCharBaseline();
+        final int horizontalGravity = getAbsoluteCellGravity() & Gravity.HORIZONTAL_GRAVITY_MASK;
+
+        float top = getPaddingTop();
+        for (int row = 0; row < rowCount; row++) {
+            float left = getPaddingLeft();
+            for (int column = 0; column < columnCount; column++) {
+                final TickerColumnManager columnManager =
+                        cells[row * columnCount + column].columnManager;
+                final float currentWidth = columnManager.getCurrentWidth();
+                if (currentWidth > 0f) {
+                    float x = left;
+                    if (horizontalGravity == Gravity.CENTER_HORIZONTAL) {
+                        x += (columnWidths[column] - currentWidth) / 2f;
+                    } else if (horizontalGravity == Gravity.RIGHT) {
+                        x += columnWidths[column] - currentWidth;
+                    }
+
+                    canvas.save();
+                    canvas.translate(x, top);
+                    canvas.clipRect(0f, 0f, currentWidth, charHeight);
+                    // canvas.drawText writes the text on the baseline so we need to translate
+                    // beforehand.
+                    canvas.translate(0f, charBaseline);
+                    columnManager.draw(tickerCanvas.wrap(canvas, textPaint));
+                    canvas.restore();
+                }
+                left += columnWidths[column] + horizontalSpacing;
+            }
+            top += charHeight + verticalSpacing;
+        }
+    }
+
+    /**
+     * @return the cell gravity with {@link Gravity#START} and {@link Gravity#END} resolved
+     *         against the layout direction.
+     */
+    private int getAbsoluteCellGravity() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            return Gravity.getAbsoluteGravity(cellGravity, getLayoutDirection());
+        }
+        // There are no right-to-left layouts before API 17, so START is always LEFT
+        return cellGravity & ~Gravity.RELATIVE_LAYOUT_DIRECTION;
+    }
+
+    /**
+     * A cell of the grid, which animates on {@link #animationDriver} by itself.
+     */
+    private final class Cell extends TickerAnimationDriver.TimedClient {
+        final TickerColumnManager columnManager;
+        CharSequence text;
+        int column;
+        // The minimum required width of the cell when its column width was last computed.
+        float minimumRequiredWidth;
+
+        Cell(TickerColumnManager columnManager) {
+            this.columnManager = columnManager;
+        }
+
+        @Override
+        void onProgress(float progress) {
+            TickerStats.record(stats, TickerStats.Counter.FRAMES_ANIMATED);
+            columnManager.setAnimationProgress(progress);
+            onCellWidthChanged(this);
+            if (columnManager.isWidthAnimating()) {
+                checkForRelayout();
+            }
+            invalidate();
+        }
+
+        @Override
+        void onFinished() {
+            // The width animation is over once the columns know that the animation ended
+            final boolean widthAnimating = columnManager.isWidthAnimating();
+            columnManager.onAnimationEnd();
+            onCellWidthChanged(this);
+            if (widthAnimating) {
+                checkForRelayout();
+            }
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+/**
+ * An immutable fixed-point number format for {@link TickerView#setValue(double, TickerNumberFormat)}.
+ * Unlike {@link java.text.NumberFormat}, numbers are formatted straight into a reusable buffer
+ * owned by the view, so that numeric updates don't need to allocate a formatter or a String.
+ *
+ * <p>For example, {@code new TickerNumberFormat(2, ',', '.', "$", null)} formats
+ * {@code -1234.5} as {@code -$1,234.50}.
+ */
+public final class TickerNumberFormat {
+    static final int MAX_FRACTION_DIGITS = 18;
+
+    // The maximum number of characters needed for a long, including digits, separators, a
+    // leading zero, and the sign.
+    private static final int MAX_NUMBER_LENGTH = 19 * 2 + 2;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FRACTION_DIGITS + 1];
+    // Formats without grouping for each number of fraction digits, see plain.
+    private static final TickerNumberFormat[] PLAIN_FORMATS =
+            new TickerNumberFormat[MAX_FRACTION_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int i = 0; i < PLAIN_FORMATS.length; i++) {
+            PLAIN_FORMATS[i] = new TickerNumberFormat(i);
+        }
+    }
+
+    private final int fractionDigits;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final String prefix;
+    private final String suffix;
+
+    /**
+     * Creates a format without grouping, using '.' as the decimal separator.
+     *
+     * @param fractionDigits the number of digits after the decimal separator.
+     */
+    public TickerNumberFormat(int fractionDigits) {
+        this(fractionDigits, (char) 0, '.', null, null);
+    }
+
+    /**
+     * @param fractionDigits the number of digits after the decimal separator.
+     * @param groupingSeparator the separator between groups of thousands, or 0 for no grouping.
+     * @param decimalSeparator the separator between the integer and the fraction digits.
+     * @param prefix text to show in front of the number after the sign, or null.
+     * @param suffix text to show after the number, or null.
+     */
+    public TickerNumberFormat(int fractionDigits, char groupingSeparator, char decimalSeparator,
+            String prefix, String suffix) {
+        if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Unsupported fractionDigits: " + fractionDigits);
+        }
+        this.fractionDigits = fractionDigits;
+        this.groupingSeparator = groupingSeparator;
+        this.decimalSeparator = decimalSeparator;
+        this.prefix = prefix != null ? prefix : "";
+        this.suffix = suffix != null ? suffix : "";
+    }
+
+    /**
+     * @return a shared format like {@link #TickerNumberFormat(int)}.
+     */
+    static TickerNumberFormat plain(int fractionDigits) {
+        if (fractionDigits < 0 || fractionDigits > MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Unsupported fractionDigits: " + fractionDigits);
+        }
+        return PLAIN_FORMATS[fractionDigits];
+    }
+
+    /**
+     * @return the number of digits after the decimal separator.
+     */
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+
+    /**
+     * Rounds {@param value} to the fraction digits of this format, with ties rounded away from
+     * zero like {@link java.math.RoundingMode#HALF_UP}.
+     *
+     * @return the rounded value scaled by {@code 10^fractionDigits}.
+     * @throws IllegalArgumentException if the value is not finite or the scaled value doesn't
+     *         fit into a long.
+     */
+    long toUnscaled(double value) {
+        final double scaled = Math.abs(value) * POWERS_OF_TEN[fractionDigits];
+        // Also rejects NaN. (double) Long.MAX_VALUE is 2^63, the first value that doesn't fit.
+        if (!(scaled < (double) Long.MAX_VALUE)) {
+            throw new IllegalArgumentException("Value out of range for "
+                    + fractionDigits + " fraction digits: " + value);
+        }
+        // Math.round rounds ties up, which is away from zero for the magnitude.
+        final long unscaled = Math.round(scaled);
+        return value < 0 ? -unscaled : unscaled;
+    }
+
+    /**
+     * @return the minimum size of a buffer passed to {@link #format}.
+     */
+    int getMaxLength() {
+        return prefix.length() + MAX_NUMBER_LENGTH + suffix.length();
+    }
+
+    /**
+     * Formats {@code unscaled * 10^-fractionDigits} right-aligned into the end of
+     * {@param buffer}.
+     *
+     * @return the index in {@param buffer} where the formatted text starts.
+     */
+    int format(long unscaled, char[] buffer) {
+        final int scale = fractionDigits;
+        int position = buffer.length;
+        position -= suffix.length();
+        suffix.getChars(0, suffix.length(), buffer, position);
+
+        // Work with the negative value so that Long.MIN_VALUE doesn't overflow.
+        final boolean negative = unscaled < 0;
+        long value = negative ? unscaled : -unscaled;
+        for (int digit = 0; value != 0 || digit <= scale; digit++) {
+            if (digit > 0 && digit == scale) {
+                buffer[--position] = decimalSeparator;
+            } else if (digit > scale && groupingSeparator != 0 && (digit - scale) % 3 == 0) {
+                buffer[--position] = groupingSeparator;
+            }
+            buffer[--position] = (char) ('0' - (value % 10));
+            value /= 10;
+        }
+
+        position -= prefix.length();
+        prefix.getChars(0, prefix.length(), buffer, position);
+
+        if (negative) {
+            buffer[--position] = '-';
+        }
+        return position;
+    }
+}
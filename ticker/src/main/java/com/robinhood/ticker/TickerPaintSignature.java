@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+
+import java.util.Locale;
+
+/**
+ * The subset of {@link Paint} attributes that affect the measured width of text, which
+ * identifies the widths of a paint in the {@link TickerWidthCache}.
+ */
+final class TickerPaintSignature {
+    private final Typeface typeface;
+    private final float textSize;
+    private final float textScaleX;
+    private final int flags;
+    private final float letterSpacing;
+    private final String fontFeatureSettings;
+    private final Locale textLocale;
+    private final String fontVariationSettings;
+
+    TickerPaintSignature(Paint paint) {
+        this.typeface = paint.getTypeface();
+        this.textSize = paint.getTextSize();
+        this.textScaleX = paint.getTextScaleX();
+        this.flags = paint.getFlags();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            this.letterSpacing = paint.getLetterSpacing();
+            this.fontFeatureSettings = paint.getFontFeatureSettings();
+        } else {
+            this.letterSpacing = 0f;
+            this.fontFeatureSettings = null;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+            this.textLocale = paint.getTextLocale();
+        } else {
+            this.textLocale = null;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            this.fontVariationSettings = paint.getFontVariationSettings();
+        } else {
+            this.fontVariationSettings = null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TickerPaintSignature)) return false;
+
+        final TickerPaintSignature other = (TickerPaintSignature) o;
+        return Float.compare(textSize, other.textSize) == 0
+                && Float.compare(textScaleX, other.textScaleX) == 0
+                && flags == other.flags
+                && Float.compare(letterSpacing, other.letterSpacing) == 0
+                && (typeface == null ? other.typeface == null : typeface.equals(other.typeface))
+                && (fontFeatureSettings == null ? other.fontFeatureSettings == null
+                        : fontFeatureSettings.equals(other.fontFeatureSettings))
+                && (textLocale == null ? other.textLocale == null
+                        : textLocale.equals(other.textLocale))
+                && (fontVariationSettings == null ? other.fontVariationSettings == null
+                        : fontVariationSettings.equals(other.fontVariationSettings));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = typeface != null ? typeface.hashCode() : 0;
+        result = 31 * result + Float.floatToIntBits(textSize);
+        result = 31 * result + Float.floatToIntBits(textScaleX);
+        result = 31 * result + flags;
+        result = 31 * result + Float.floatToIntBits(letterSpacing);
+        result = 31 * result + (fontFeatureSettings != null ? fontFeatureSettings.hashCode() : 0);
+        result = 31 * result + (textLocale != null ? textLocale.hashCode() : 0);
+        result = 31 * result + (fontVariationSettings != null ? fontVariationSettings.hashCode() : 0);
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import java.util.ArrayList;
+
+/**
+ * Watches the frames delivered by a {@link TickerAnimationDriver} and lowers the animation
+ * quality of the tickers using that driver when frames keep missing their budget, raising it
+ * again once frames recover. The monitor is disabled by default, in which case the level always
+ * stays at {@link Level#FULL}.
+ *
+ * <p>Frames are judged in windows of {@link #WINDOW_FRAMES} frames. A window in which at least
+ * {@link #STEP_DOWN_OVERRUNS} frames overran the budget lowers the level by one step, while
+ * {@link #STEP_UP_CLEAN_WINDOWS} consecutive windows without any overruns raise it by one step.
+ * While the level is lowered, the driver keeps delivering frames to the monitor even when no
+ * ticker animates, so the level also recovers when tickers only update instantly.
+ *
+ * <p>The monitor must only be used from the main thread.
+ */
+@SuppressWarnings("ForLoopReplaceableByForEach")
+public final class TickerQualityMonitor {
+    public enum Level {
+        /** Animations run as configured. */
+        FULL,
+        /** Animations run with shortened durations and no start delay. */
+        SHORT_ANIMATIONS,
+        /** Columns cross-fade to their new characters instead of scrolling. */
+        CROSS_FADE,
+        /** Tickers that don't have focus update instantly, focused tickers cross-fade. */
+        INSTANT
+    }
+
+    public interface OnLevelChangedListener {
+        void onLevelChanged(Level previousLevel, Level level);
+    }
+
+    static final int WINDOW_FRAMES = 30;
+    static final int STEP_DOWN_OVERRUNS = 10;
+    static final int STEP_UP_CLEAN_WINDOWS = 2;
+    private static final long DEFAULT_FRAME_BUDGET_NANOS = 1000000000L / 60;
+
+    private final ArrayList<OnLevelChangedListener> listeners = new ArrayList<>();
+
+    private boolean enabled;
+    private long frameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+    private Level level = Level.FULL;
+
+    private int windowFrames;
+    private int windowOverruns;
+    private int cleanWindows;
+
+    TickerQualityMonitor() {
+    }
+
+    /**
+     * Enables or disables the monitor. Disabling the monitor restores {@link Level#FULL}.
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            resetWindow();
+            cleanWindows = 0;
+            if (!enabled) {
+                setLevel(Level.FULL);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the expected time between two frames, defaults to that of a 60Hz display. A frame
+     * counts as an overrun when it takes more than one and a half times the budget, i.e. when at
+     * least one frame was dropped.
+     *
+     * @param frameBudgetNanos the frame budget in nanoseconds.
+     */
+    public void setFrameBudget(long frameBudgetNanos) {
+        if (frameBudgetNanos <= 0) {
+            throw new IllegalArgumentException("Frame budget must be positive.");
+        }
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    public long getFrameBudget() {
+        return frameBudgetNanos;
+    }
+
+    /**
+     * @return the current quality level.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    public void addOnLevelChangedListener(OnLevelChangedListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOnLevelChangedListener(OnLevelChangedListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records the time between two consecutive frames of the driver.
+     */
+    void onFrameInterval(long frameIntervalNanos) {
+        if (!enabled) return;
+
+        if (frameIntervalNanos * 2 > frameBudgetNanos * 3) {
+            windowOverruns++;
+        }
+        if (++windowFrames < WINDOW_FRAMES) return;
+
+        final Level[] levels = Level.values();
+        if (windowOverruns >= STEP_DOWN_OVERRUNS) {
+            cleanWindows = 0;
+            if (level.ordinal() < levels.length - 1) {
+                setLevel(levels[level.ordinal() + 1]);
+            }
+        } else if (windowOverruns > 0) {
+            cleanWindows = 0;
+        } else if (++cleanWindows >= STEP_UP_CLEAN_WINDOWS) {
+            cleanWindows = 0;
+            if (level.ordinal() > 0) {
+                setLevel(levels[level.ordinal() - 1]);
+            }
+        }
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowFrames = 0;
+        windowOverruns = 0;
+    }
+
+    private void setLevel(Level level) {
+        if (this.level != level) {
+            final Level previousLevel = this.level;
+            this.level = level;
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onLevelChanged(previousLevel, level);
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2016 Robinhood Markets, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.robinhood.ticker;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * The XML attributes of a {@link TickerView}, resolved ahead of time. Resolving attributes
+ * means parsing the view's {@link TypedArray} as well as its text appearance, so screens that
+ * create many tickers with the same look can resolve a style once, e.g. from a style resource
+ * via {@link #fromStyleResource(Context, int)}, and share it with every ticker through
+ * {@link TickerView#TickerView(Context, TickerStyle)}.
+ *
+ * <p>The default character lists selected by {@code ticker_defaultCharacterList} are built once
+ * per process and shared by all styles.
+ *
+ * <p>Views that don't set any of these attributes themselves, e.g. tickers inflated from XML that
+ * are only styled through {@code style} or their theme, share one resolved style per style
+ * resource and theme. Only the styles of the most recently used theme are kept. Changes to that
+ * theme are picked up on API 23 and above, where themes are compared by the styles applied to
+ * them, while older versions keep using the styles resolved before the change.
+ */
+public final class TickerStyle {
+    static final int CHARACTER_LIST_NUMBER = 1;
+    static final int CHARACTER_LIST_ALPHABETICAL = 2;
+
+    private static TickerCharacterList[] numberLists, alphabeticalLists;
+    private static Set<CharSequence> numberCharacters, alphabeticalCharacters;
+
+    // Styles resolved for views without attributes of their own, see obtain. These are only
+    // valid for the theme, theme hash and configuration they were resolved with.
+    private static final HashMap<StyleKey, TickerStyle> cachedStyles = new HashMap<>();
+    private static WeakReference<Resources.Theme> cachedTheme;
+    private static int cachedThemeHash;
+    private static Configuration cachedConfiguration;
+
+    // Attributes that can be applied from `android:textAppearance`.
+    int gravity = TickerView.DEFAULT_GRAVITY;
+    int shadowColor;
+    float shadowDx;
+    float shadowDy;
+    float shadowRadius;
+    String text;
+    int textColor = TickerView.DEFAULT_TEXT_COLOR;
+    float textSize;
+    int textStyle;
+
+    // Attributes that can only be set on the view itself.
+    long animationDurationInMillis;
+    boolean animateMeasurementChange;
+    boolean reserveCharacterWidth;
+    boolean uniformCharacterWidth;
+    TickerView.ScrollingDirection preferredScrollingDirection;
+    // The default character lists, or null if none were selected.
+    TickerCharacterList[] characterLists;
+    Set<CharSequence> supportedCharacters;
+
+    TickerStyle() {
+    }
+
+    /**
+     * Resolves a style resource such as {@code R.style.Ticker_Watchlist}, using the same
+     * attributes as the XML attributes of a {@link TickerView}.
+     */
+    public static TickerStyle fromStyleResource(Context context, int styleRes) {
+        return obtain(context, null, 0, styleRes);
+    }
+
+    /**
+     * Resolves the attributes of a {@link TickerView} as passed to its constructor. If
+     * {@code attrs} doesn't set any ticker attributes itself, the returned style may be shared.
+     */
+    public static TickerStyle obtain(Context context, AttributeSet attrs, int defStyleAttr,
+                                     int defStyleRes) {
+        return obtain(context, attrs, defStyleAttr, defStyleRes, TickerView.DEFAULT_GRAVITY);
+    }
+
+    /**
+     * @param defaultGravity the gravity to use if none is set, e.g. for a {@link TickerGridView}.
+     */
+    static TickerStyle obtain(Context context, AttributeSet attrs, int defStyleAttr,
+                              int defStyleRes, int defaultGravity) {
+        if (attrs != null && hasTickerAttributes(attrs)) {
+            return resolve(context, attrs, defStyleAttr, defStyleRes, defaultGravity);
+        }
+
+        final Resources.Theme theme = context.getTheme();
+        final Configuration configuration = context.getResources().getConfiguration();
+        final StyleKey key = new StyleKey(attrs != null ? attrs.getStyleAttribute() : 0,
+                defStyleAttr, defStyleRes, defaultGravity);
+        synchronized (TickerStyle.class) {
+            if (cachedTheme == null || cachedTheme.get() != theme
+                    || cachedThemeHash != theme.hashCode()
+                    || !configuration.equals(cachedConfiguration)) {
+                cachedStyles.clear();
+                cachedTheme = new WeakReference<>(theme);
+                cachedThemeHash = theme.hashCode();
+                cachedConfiguration = new Configuration(configuration);
+            }
+            final TickerStyle cachedStyle = cachedStyles.get(key);
+            if (cachedStyle != null) {
+                return cachedStyle;
+            }
+        }
+
+        final TickerStyle style =
+                resolve(context, attrs, defStyleAttr, defStyleRes, defaultGravity);
+        synchronized (TickerStyle.class) {
+            if (cachedTheme.get() == theme) {
+                cachedStyles.put(key, style);
+            }
+        }
+        return style;
+    }
+
+    /**
+     * @return whether {@code attrs} sets any of the attributes of a {@link TickerView} directly.
+     */
+    private static boolean hasTickerAttributes(AttributeSet attrs) {
+        for (int i = 0, count = attrs.getAttributeCount(); i < count; i++) {
+            final int attr = attrs.getAttributeNameResource(i);
+            // Styleable arrays are sorted by attribute id
+            if (attr != 0 && Arrays.binarySearch(R.styleable.TickerView, attr) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TickerStyle resolve(Context context, AttributeSet attrs, int defStyleAttr,
+                                       int defStyleRes, int defaultGravity) {
+        final Resources res = context.getResources();
+        final TickerStyle style = new TickerStyle();
+        style.gravity = defaultGravity;
+        style.textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                TickerView.DEFAULT_TEXT_SIZE, res.getDisplayMetrics());
+
+        // Set the view attributes from XML or from default values defined in this class
+        final TypedArray arr = context.obtainStyledAttributes(attrs, R.styleable.TickerView,
+                defStyleAttr, defStyleRes);
+
+        final int textAppearanceResId = arr.getResourceId(
+                R.styleable.TickerView_android_textAppearance, -1);
+
+        // Check textAppearance first
+        if (textAppearanceResId != -1) {
+            final TypedArray textAppearanceArr = context.obtainStyledAttributes(
+                    textAppearanceResId, R.styleable.TickerView);
+            style.applyTypedArray(textAppearanceArr);
+            textAppearanceArr.recycle();
+        }
+
+        // Custom set attributes on the view should override textAppearance if applicable.
+        style.applyTypedArray(arr);
+
+        style.animationDurationInMillis = arr.getInt(
+                R.styleable.TickerView_ticker_animationDuration,
+                TickerView.DEFAULT_ANIMATION_DURATION);
+        style.animateMeasurementChange = arr.getBoolean(
+                R.styleable.TickerView_ticker_animateMeasurementChange, false);
+        style.reserveCharacterWidth = arr.getBoolean(
+                R.styleable.TickerView_ticker_reserveCharacterWidth, false);
+        style.uniformCharacterWidth = arr.getBoolean(
+                R.styleable.TickerView_ticker_uniformCharacterWidth, false);
+
+        final int defaultCharList =
+                arr.getInt(R.styleable.TickerView_ticker_defaultCharacterList, 0);
+        if (defaultCharList == CHARACTER_LIST_NUMBER
+                || defaultCharList == CHARACTER_LIST_ALPHABETICAL) {
+            style.setDefaultCharacterLists(defaultCharList);
+        }
+
+        final int defaultPreferredScrollingDirection =
+                arr.getInt(R.styleable.TickerView_ticker_defaultPreferredScrollingDirection, 0);
+
+        switch (defaultPreferredScrollingDirection) {
+            case 0:
+                style.preferredScrollingDirection = TickerView.ScrollingDirection.ANY;
+                break;
+            case 1:
+                style.preferredScrollingDirection = TickerView.ScrollingDirection.UP;
+                break;
+            case 2:
+                style.preferredScrollingDirection = TickerView.ScrollingDirection.DOWN;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported ticker_defaultPreferredScrollingDirection: " + defaultPreferredScrollingDirection);
+        }
+
+        arr.recycle();
+        return style;
+    }
+
+    private void applyTypedArray(TypedArray arr) {
+        gravity = arr.getInt(R.styleable.TickerView_android_gravity, gravity);
+        shadowColor = arr.getColor(R.styleable.TickerView_android_shadowColor,
+                shadowColor);
+        shadowDx = arr.getFloat(R.styleable.TickerView_android_shadowDx, shadowDx);
+        shadowDy = arr.getFloat(R.styleable.TickerView_android_shadowDy, shadowDy);
+        shadowRadius = arr.getFloat(R.styleable.TickerView_android_shadowRadius,
+                shadowRadius);
+        text = arr.getString(R.styleable.TickerView_android_text);
+        textColor = arr.getColor(R.styleable.TickerView_android_textColor, textColor);
+        textSize = arr.getDimension(R.styleable.TickerView_android_textSize, textSize);
+        textStyle = arr.getInt(R.styleable.TickerView_android_textStyle, textStyle);
+    }
+
+    /**
+     * Selects one of the shared default character lists. This is synchronized since views
+     * may be inflated on a background thread.
+     */
+    void setDefaultCharacterLists(int defaultCharList) {
+        synchronized (TickerStyle.class) {
+            if (defaultCharList == CHARACTER_LIST_NUMBER) {
+                if (numberLists == null) {
+                    numberLists = new TickerCharacterList[]{
+                            new TickerCharacterList(TickerUtils.provideNumberList())};
+                    numberCharacters = TickerColumnManager.getSupportedCharacters(numberLists);
+                }
+                characterLists = numberLists;
+                supportedCharacters = numberCharacters;
+            } else {
+                if (alphabeticalLists == null) {
+                    alphabeticalLists = new TickerCharacterList[]{
+                            new TickerCharacterList(TickerUtils.provideAlphabeticalList())};
+                    alphabeticalCharacters =
+                            TickerColumnManager.getSupportedCharacters(alphabeticalLists);
+                }
+                characterLists = alphabeticalLists;
+                supportedCharacters = alphabeticalCharacters;
+            }
+        }
+    }
+
+    /**
+     * Identifies a style resolved for a view without attributes of its own.
+     */
+    private static final class StyleKey {
+        private final int styleAttribute;
+        private final int defStyleAttr;
+        private final int defStyleRes;
+        private final int defaultGravity;
+
+        StyleKey(int styleAttribute, int defStyleAttr, int defStyleRes, int defaultGravity) {
+            this.styleAttribute = styleAttribute;
+            this.defStyleAttr = defStyleAttr;
+            this.defStyleRes = defStyleRes;
+            this.defaultGravity = defaultGravity;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StyleKey)) return false;
+
+            final StyleKey other = (StyleKey) o;
+            return styleAttribute == other.styleAttribute
+                    && defStyleAttr == other.defStyleAttr
+                    && defStyleRes == other.defStyleRes
+                    && defaultGravity == other.defaultGravity;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = styleAttribute;
+            result = 31 * result + defStyleAttr;
+            result = 31 * result + defStyleRes;
+            result = 31 * result + defaultGravity;
+            return result;
+        }
+    }
+}
@@ -21,8 +21,6 @@ import android.animation.AnimatorListenerAdapter;
 import android.animation.ValueAnimator;
 import android.annotation.TargetApi;
 import android.content.Context;
-import android.content.res.Resources;
-import android.content.res.TypedArray;
 import android.graphics.BlurMaskFilter;
 import android.graphics.Canvas;
 import android.graphics.Color;
@@ -30,15 +28,17 @@ import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.os.Build;
+import android.os.SystemClock;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.util.AttributeSet;
-import android.util.TypedValue;
 import android.view.Gravity;
 import android.view.View;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.Interpolator;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * The primary view for showing a ticker text view that handles smoothly scrolling from the
  * current text to a given text. The scrolling behavior is defined by
@@ -63,26 +63,101 @@ public class TickerView extends View {
         ANY, UP, DOWN
     }
 
-    private static final int DEFAULT_TEXT_SIZE = 12;
-    private static final int DEFAULT_TEXT_COLOR = Color.BLACK;
-    private static final int DEFAULT_ANIMATION_DURATION = 350;
-    private static final Interpolator DEFAULT_ANIMATION_INTERPOLATOR =
+    /**
+     * Dictates what happens to updates that arrive faster than the update policy allows, see
+     * {@link #setMaxUpdatesPerSecond} and {@link #setMinimumDwellTime}.
+     */
+    public enum UpdateConflation {
+        /**
+         * Intermediate updates are dropped, but the last one is always shown as soon as the
+         * policy allows it.
+         */
+        SHOW_LAST,
+        /**
+         * Every update that arrives while the policy doesn't allow a new animation is dropped.
+         */
+        DROP
+    }
+
+    /**
+     * Dictates how the content description, which accessibility services read out, follows the
+     * text of the view, see {@link #setAccessibilityUpdatePolicy}.
+     */
+    public enum AccessibilityUpdatePolicy {
+        /**
+         * The content description is updated with every new text.
+         */
+        IMMEDIATE,
+        /**
+         * The content description is updated at most once per
+         * {@link #setAccessibilityUpdateInterval interval}, to the latest text.
+         */
+        THROTTLED,
+        /**
+         * The content description is only updated once the view settles on a text, i.e. when
+         * no animations are running or queued.
+         */
+        ON_SETTLE,
+        /**
+         * Like {@link #THROTTLED}, but the view is also marked as a polite live region on API 19
+         * and above so that accessibility services announce the changes without interrupting.
+         */
+        POLITE_LIVE_REGION
+    }
+
+    static final int DEFAULT_TEXT_SIZE = 12;
+    static final int DEFAULT_TEXT_COLOR = Color.BLACK;
+    static final int DEFAULT_ANIMATION_DURATION = 350;
+    static final Interpolator DEFAULT_ANIMATION_INTERPOLATOR =
             new AccelerateDecelerateInterpolator();
-    private static final int DEFAULT_GRAVITY = Gravity.START;
+    static final int DEFAULT_GRAVITY = Gravity.START;
+    private static final long DEFAULT_ACCESSIBILITY_UPDATE_INTERVAL = 1000;
 
     public final Paint textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
 
-    private final TickerDrawMetrics metrics = new TickerDrawMetrics(textPaint);
+    private final TickerDrawMetrics metrics = new TickerDrawMetrics(textPaint, TickerWidthCache.getInstance());
     private final TickerColumnManager columnManager = new TickerColumnManager(metrics);
+    private final AndroidTickerCanvas tickerCanvas = new AndroidTickerCanvas();
 
-    private final ValueAnimator animator = ValueAnimator.ofFloat(1f);
+    private ValueAnimator animator;
+    private final DriverAnimation driverAnimation = new DriverAnimation();
+    private TickerAnimationDriver animationDriver;
     private AnimationHolder currentAnimation;
     private AnimationHolder nextAnimation;
+    // A finished holder that is reused for the next update to avoid allocations.
+    private AnimationHolder recycledAnimation;
+
+    // Update policy, see setMaxUpdatesPerSecond and setMinimumDwellTime.
+    private float maxUpdatesPerSecond;
+    private long minimumDwellTimeInMillis;
+    private UpdateConflation updateConflation = UpdateConflation.SHOW_LAST;
+    private long lastUpdateTimeInMillis, lastSettledTimeInMillis;
+    private boolean updateScheduled;
+
+    // Accessibility policy, see setAccessibilityUpdatePolicy.
+    private AccessibilityUpdatePolicy accessibilityUpdatePolicy = AccessibilityUpdatePolicy.IMMEDIATE;
+    private long accessibilityUpdateIntervalInMillis = DEFAULT_ACCESSIBILITY_UPDATE_INTERVAL;
+    private long lastContentDescriptionTimeInMillis;
+    private boolean contentDescriptionScheduled;
+
+    // Per-view counters on top of the global ones, see setStats.
+    private TickerStats stats;
+
+    // A copy of the text paint for measuring text prepared on other threads, see prepare.
+    private volatile Paint preparePaint;
+
+    // Single-slot mailbox for text posted from other threads, see postText.
+    private final AtomicReference<CharSequence> postedText = new AtomicReference<>();
 
     // Minor optimizations for re-positioning the canvas for the composer.
     private final Rect viewBounds = new Rect();
+    // The gravity translation is cached until the content size, bounds or gravity change.
+    private final float[] gravityTranslation = new float[2];
+    private float gravityTranslationWidth = Float.NaN, gravityTranslationHeight;
 
     private CharSequence text;
+    // Reusable buffer that numeric values are formatted into, see setValue.
+    private char[] valueBuffer;
 
     private int lastMeasuredDesiredWidth, lastMeasuredDesiredHeight;
 
@@ -95,6 +170,9 @@ public class TickerView extends View {
     private long animationDurationInMillis;
     private Interpolator animationInterpolator;
     private boolean animateMeasurementChange;
+    private boolean reserveCharacterWidth;
+    // Whether the text draws outside of its columns, which rules out partial invalidation.
+    private boolean hasShadow;
     // pending text set from XML because we didn't have a character list initially
     private CharSequence pendingTextToSet;
 
@@ -119,6 +197,18 @@ public class TickerView extends View {
         init(context, attrs, defStyleAttr, defStyleRes);
     }
 
+    /**
+     * Creates a view with a style that was resolved ahead of time, which skips parsing any
+     * attributes. Useful when creating many tickers that look the same.
+     *
+     * @param context the context of the view.
+     * @param style the resolved style, see {@link TickerStyle#fromStyleResource}.
+     */
+    public TickerView(Context context, TickerStyle style) {
+        super(context);
+        applyStyle(style);
+    }
+
     /**
      * We currently only support the following set of XML attributes:
      * <ul>
@@ -132,153 +222,73 @@ public class TickerView extends View {
      * @param defStyleRes defStyleRes from constructor
      */
     protected void init(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
-        final Resources res = context.getResources();
-        final StyledAttributes styledAttributes = new StyledAttributes(res);
-
-        // Set the view attributes from XML or from default values defined in this class
-        final TypedArray arr = context.obtainStyledAttributes(attrs, R.styleable.TickerView,
-                defStyleAttr, defStyleRes);
-
-        final int textAppearanceResId = arr.getResourceId(
-                R.styleable.TickerView_android_textAppearance, -1);
-
-        // Check textAppearance first
-        if (textAppearanceResId != -1) {
-            final TypedArray textAppearanceArr = context.obtainStyledAttributes(
-                    textAppearanceResId, R.styleable.TickerView);
-            styledAttributes.applyTypedArray(textAppearanceArr);
-            textAppearanceArr.recycle();
-        }
-
-        // Custom set attributes on the view should override textAppearance if applicable.
-        styledAttributes.applyTypedArray(arr);
+        applyStyle(TickerStyle.obtain(context, attrs, defStyleAttr, defStyleRes));
+    }
 
-        // After we've fetched the correct values for the attributes, set them on the view
+    /**
+     * Applies the resolved attributes straight to the paint and metrics. Nothing is measured
+     * here, the metrics are only computed once the view is measured or drawn.
+     */
+    private void applyStyle(TickerStyle style) {
         animationInterpolator = DEFAULT_ANIMATION_INTERPOLATOR;
-        this.animationDurationInMillis = arr.getInt(
-                R.styleable.TickerView_ticker_animationDuration, DEFAULT_ANIMATION_DURATION);
-        this.animateMeasurementChange = arr.getBoolean(
-                R.styleable.TickerView_ticker_animateMeasurementChange, false);
-        this.gravity = styledAttributes.gravity;
-
-        if (styledAttributes.shadowColor != 0) {
-            textPaint.setShadowLayer(styledAttributes.shadowRadius, styledAttributes.shadowDx,
-                    styledAttributes.shadowDy, styledAttributes.shadowColor);
+        animationDurationInMillis = style.animationDurationInMillis;
+        animateMeasurementChange = style.animateMeasurementChange;
+        reserveCharacterWidth = style.reserveCharacterWidth;
+        metrics.setUniformCharacterListWidth(style.uniformCharacterWidth);
+        metrics.setPreferredScrollingDirection(style.preferredScrollingDirection);
+        gravity = style.gravity;
+
+        if (style.shadowColor != 0) {
+            hasShadow = true;
+            textPaint.setShadowLayer(style.shadowRadius, style.shadowDx, style.shadowDy,
+                    style.shadowColor);
         }
-        if (styledAttributes.textStyle != 0) {
-            textStyle = styledAttributes.textStyle;
-            setTypeface(textPaint.getTypeface());
+        textStyle = style.textStyle;
+        if (textStyle != 0) {
+            textPaint.setTypeface(createStyledTypeface(textPaint.getTypeface()));
         }
+        textColor = style.textColor;
+        textPaint.setColor(textColor);
+        textSize = style.textSize;
+        textPaint.setTextSize(textSize);
+        metrics.invalidate();
 
-        setTextColor(styledAttributes.textColor);
-        setTextSize(styledAttributes.textSize);
-
-        final int defaultCharList =
-                arr.getInt(R.styleable.TickerView_ticker_defaultCharacterList, 0);
-        switch (defaultCharList) {
-            case 1:
-                setCharacterLists(TickerUtils.provideNumberList());
-                break;
-            case 2:
-                setCharacterLists(TickerUtils.provideAlphabeticalList());
-                break;
-            default:
-                if (isInEditMode()) {
-                    setCharacterLists(TickerUtils.provideNumberList());
-                }
-        }
-
-        final int defaultPreferredScrollingDirection =
-                arr.getInt(R.styleable.TickerView_ticker_defaultPreferredScrollingDirection, 0);
-
-        switch (defaultPreferredScrollingDirection) {
-            case 0:
-                metrics.setPreferredScrollingDirection(ScrollingDirection.ANY);
-                break;
-            case 1:
-                metrics.setPreferredScrollingDirection(ScrollingDirection.UP);
-                break;
-            case 2:
-                metrics.setPreferredScrollingDirection(ScrollingDirection.DOWN);
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported ticker_defaultPreferredScrollingDirection: " + defaultPreferredScrollingDirection);
+        if (style.characterLists != null) {
+            // The lists are shared with other views, but the measurements are our own.
+            metrics.setCharacterLists(style.characterLists);
+            columnManager.setCharacterLists(style.characterLists, style.supportedCharacters);
+        } else if (isInEditMode()) {
+            columnManager.setCharacterLists(TickerUtils.provideNumberList());
         }
 
         if (isCharacterListsSet()) {
-            setText(styledAttributes.text, false);
+            setText(style.text, false);
         } else {
-            this.pendingTextToSet = styledAttributes.text;
+            this.pendingTextToSet = style.text;
         }
-
-        arr.recycle();
-
-        animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-            @Override
-            public void onAnimationUpdate(ValueAnimator animation) {
-                columnManager.setAnimationProgress(
-                        animation.getAnimatedFraction());
-                checkForRelayout();
-                invalidate();
-            }
-        });
-
-        final Runnable startNextAnimation = new Runnable() {
-            @Override
-            public void run() {
-                startNextAnimation();
-            }
-        };
-        animator.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                columnManager.onAnimationEnd();
-                checkForRelayout();
-                invalidate();
-
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    startNextAnimation.run();
-                } else {
-                    post(startNextAnimation);
-                }
-            }
-        });
     }
 
     /**
-     * Only attributes that can be applied from `android:textAppearance` should be added here.
+     * The animator is only created once the view first animates, since many tickers never do.
      */
-    private class StyledAttributes {
-        int gravity;
-        int shadowColor;
-        float shadowDx;
-        float shadowDy;
-        float shadowRadius;
-        String text;
-        int textColor;
-        float textSize;
-        int textStyle;
-
-        StyledAttributes(Resources res) {
-            textColor = DEFAULT_TEXT_COLOR;
-            textSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
-                    DEFAULT_TEXT_SIZE, res.getDisplayMetrics());
-            gravity = DEFAULT_GRAVITY;
-        }
+    private ValueAnimator getAnimator() {
+        if (animator == null) {
+            animator = ValueAnimator.ofFloat(1f);
+            animator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    onAnimationProgress(animation.getAnimatedFraction());
+                }
+            });
 
-        void applyTypedArray(TypedArray arr) {
-            gravity = arr.getInt(R.styleable.TickerView_android_gravity, gravity);
-            shadowColor = arr.getColor(R.styleable.TickerView_android_shadowColor,
-                    shadowColor);
-            shadowDx = arr.getFloat(R.styleable.TickerView_android_shadowDx, shadowDx);
-            shadowDy = arr.getFloat(R.styleable.TickerView_android_shadowDy, shadowDy);
-            shadowRadius = arr.getFloat(R.styleable.TickerView_android_shadowRadius,
-                    shadowRadius);
-            text = arr.getString(R.styleable.TickerView_android_text);
-            textColor = arr.getColor(R.styleable.TickerView_android_textColor, textColor);
-            textSize = arr.getDimension(R.styleable.TickerView_android_textSize, textSize);
-            textStyle = arr.getInt(R.styleable.TickerView_android_textStyle, textStyle);
+            animator.addListener(new AnimatorListenerAdapter() {
+                @Override
+                public void onAnimationEnd(Animator animation) {
+                    onAnimationFinished();
+                }
+            });
         }
+        return animator;
     }
 
 
@@ -338,32 +348,331 @@ public class TickerView extends View {
      * @param animate whether to animate to text.
      */
     public void setText(CharSequence text, boolean animate) {
-        if (TextUtils.equals(text, this.text)) {
+        setText(text, null, animate);
+    }
+
+    /**
+     * Displays the fixed-point number {@code unscaled * 10^-scale}, e.g. 12345 with a scale of
+     * 2 is displayed as "123.45". This behaves like {@link #setText(CharSequence)}, but the
+     * number is formatted into a buffer owned by this view rather than via a formatter, and
+     * updates to the value that is already displayed or queued are skipped without allocating.
+     *
+     * @param unscaled the unscaled value of the number.
+     * @param scale the number of digits after the decimal point, between 0 and 18.
+     */
+    public void setValue(long unscaled, int scale) {
+        setValue(unscaled, TickerNumberFormat.plain(scale));
+    }
+
+    /**
+     * Displays the fixed-point number {@code unscaled * 10^-fractionDigits} formatted by
+     * {@param format}, where the fraction digits are those of the format. See
+     * {@link #setValue(long, int)}.
+     *
+     * @param unscaled the unscaled value of the number.
+     * @param format the format for the number.
+     */
+    public void setValue(long unscaled, TickerNumberFormat format) {
+        final int maxLength = format.getMaxLength();
+        if (valueBuffer == null || valueBuffer.length < maxLength) {
+            valueBuffer = new char[maxLength];
+        }
+        final int start = format.format(unscaled, valueBuffer);
+        final int length = valueBuffer.length - start;
+
+        if (contentEquals(getLatestText(), valueBuffer, start, length)) {
             return;
         }
 
-        if (!animate && animator.isRunning()) {
-            animator.cancel();
-            currentAnimation = nextAnimation = null;
+        setText(new String(valueBuffer, start, length),
+                PreparedTickerText.toInternedCharacters(valueBuffer, start, length),
+                !TextUtils.isEmpty(this.text));
+    }
+
+    /**
+     * Displays {@param value} formatted by {@param format}, rounded to the number of fraction
+     * digits of the format with ties rounded away from zero. See {@link #setValue(long, int)}.
+     *
+     * @param value the number to display.
+     * @param format the format for the number.
+     * @throws IllegalArgumentException if {@param value} is NaN or infinite, or too large to be
+     *         represented with the fraction digits of the format.
+     */
+    public void setValue(double value, TickerNumberFormat format) {
+        setValue(format.toUnscaled(value), format);
+    }
+
+    private static boolean contentEquals(CharSequence text, char[] chars, int start, int length) {
+        if (text == null || text.length() != length) {
+            return false;
         }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != chars[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prepares {@param text} to be shown by this view by splitting it into columns and measuring
+     * them ahead of time. Unlike the other methods of this view, this method can be called from
+     * any thread, as long as the text appearance of the view isn't being changed at the same
+     * time. The result can then be shown on the main thread via
+     * {@link #setText(PreparedTickerText)}, which only needs to apply the precomputed result.
+     *
+     * @param text the text to prepare.
+     * @return the prepared text.
+     */
+    public PreparedTickerText prepare(CharSequence text) {
+        Paint paint = preparePaint;
+        if (paint == null) {
+            paint = preparePaint = new TextPaint(textPaint);
+        }
+        return PreparedTickerText.prepare(text, paint, TickerWidthCache.getInstance());
+    }
+
+    /**
+     * Similar to {@link #setText(CharSequence)} but takes text that was prepared via
+     * {@link #prepare(CharSequence)}.
+     *
+     * @param text the prepared text to display.
+     */
+    public void setText(PreparedTickerText text) {
+        setText(text, !TextUtils.isEmpty(this.text));
+    }
+
+    /**
+     * Similar to {@link #setText(CharSequence, boolean)} but takes text that was prepared via
+     * {@link #prepare(CharSequence)}.
+     *
+     * @param text the prepared text to display.
+     * @param animate whether to animate to text.
+     */
+    public void setText(PreparedTickerText text, boolean animate) {
+        setText(text.getText(), text.getCharacters(), animate);
+    }
 
+    /**
+     * @param characters the text already split into columns, or null.
+     */
+    private void setText(CharSequence text, CharSequence[] characters, boolean animate) {
+        TickerStats.record(stats, TickerStats.Counter.SET_TEXT_CALLS);
         if (animate) {
+            if (TextUtils.equals(text, getLatestText())) {
+                return;
+            }
+        } else if (TextUtils.equals(text, this.text)
+                && currentAnimation == null && nextAnimation == null) {
+            // Otherwise the text still has to snap into place
+            return;
+        }
+
+        if (animate && nextAnimation != null && TextUtils.equals(text, this.text)) {
+            // Going back to the text that is already shown makes the queued update obsolete
+            dropNextAnimation();
+            updateContentDescription();
+            return;
+        }
+
+        // There is nothing to look at while the view is hidden, so skip straight to the end.
+        if (animate && isSuspended()) {
+            animate = false;
+        }
+
+        if (!animate) {
+            clearAnimations();
+        }
+
+        if (animate) {
+            if (updateConflation == UpdateConflation.DROP && (currentAnimation != null
+                    || updateScheduled || getUpdateDelay() > 0)) {
+                TickerStats.record(stats, TickerStats.Counter.DROPPED_UPDATES);
+                return;
+            }
+
             // Kick off the animator that draws the transition
-            nextAnimation = new AnimationHolder(
-                    text, animationDelayInMillis, animationDurationInMillis, animationInterpolator);
-            if (currentAnimation == null) {
+            if (nextAnimation == null) {
+                nextAnimation = recycledAnimation != null ? recycledAnimation : new AnimationHolder();
+                recycledAnimation = null;
+            } else {
+                TickerStats.record(stats, TickerStats.Counter.CONFLATED_UPDATES);
+            }
+            nextAnimation.set(text, characters,
+                    animationDelayInMillis, animationDurationInMillis, animationInterpolator);
+            if (currentAnimation == null && !updateScheduled) {
                 startNextAnimation();
             }
         } else {
-            setTextInternal(text);
+            lastUpdateTimeInMillis = lastSettledTimeInMillis = SystemClock.uptimeMillis();
+            setTextInternal(text, characters);
+            settle();
+        }
+        // Follows the latest text right away, rather than when a queued update starts
+        updateContentDescription();
+    }
 
-            columnManager.setAnimationProgress(1f);
-            columnManager.onAnimationEnd();
-            checkForRelayout();
-            invalidate();
+    /**
+     * @return the text of the latest update, which may still be queued behind the running
+     *         animation or the update policy.
+     */
+    private CharSequence getLatestText() {
+        return nextAnimation != null ? nextAnimation.text : text;
+    }
+
+    private void dropNextAnimation() {
+        TickerStats.record(stats, TickerStats.Counter.CONFLATED_UPDATES);
+        recycledAnimation = nextAnimation;
+        recycledAnimation.text = null;
+        recycledAnimation.characters = null;
+        nextAnimation = null;
+        if (updateScheduled) {
+            updateScheduled = false;
+            removeCallbacks(scheduledUpdate);
+        }
+        if (accessibilityUpdatePolicy == AccessibilityUpdatePolicy.ON_SETTLE
+                && currentAnimation == null) {
+            applyContentDescription();
+        }
+    }
+
+    private void settle() {
+        columnManager.setAnimationProgress(1f);
+        columnManager.onAnimationEnd();
+        checkForRelayout();
+        invalidate();
+        if (accessibilityUpdatePolicy == AccessibilityUpdatePolicy.ON_SETTLE) {
+            applyContentDescription();
+        }
+    }
+
+    /**
+     * Cancels the running animation and drops any queued updates without applying them.
+     */
+    private void clearAnimations() {
+        // Clear the queue first since finishing the animation would otherwise start the next one.
+        recycleCurrentAnimation();
+        nextAnimation = null;
+        if (updateScheduled) {
+            updateScheduled = false;
+            removeCallbacks(scheduledUpdate);
+        }
+        if (isAnimationRunning()) {
+            cancelAnimation();
+        }
+    }
+
+    /**
+     * Binds new text to a view that is being reused for different content, e.g. in a
+     * {@link android.widget.ListView} or RecyclerView adapter. Unlike
+     * {@link #setText(CharSequence, boolean)}, the text is not diffed against whatever the
+     * view showed before: the existing columns are rewritten in place, any running or queued
+     * animations are dropped and the update policy starts over. No layout is requested unless
+     * the width of the text changes.
+     *
+     * @param text the text to display.
+     */
+    public void bind(CharSequence text) {
+        // Text posted for the previous content must not overwrite the bound text
+        postedText.set(null);
+        removeCallbacks(applyPostedText);
+        lastUpdateTimeInMillis = lastSettledTimeInMillis = 0;
+        this.text = text;
+        final long section = TickerTrace.beginSection(TickerTrace.Phase.SEGMENT);
+        final CharSequence[] characters = LevenshteinUtils.toCharArrayOfArray(text);
+        TickerTrace.endSection(TickerTrace.Phase.SEGMENT, section);
+        columnManager.bindText(characters);
+        // Cancel after binding so that finishing the animation sees the bound columns
+        clearAnimations();
+        cancelContentDescriptionUpdate();
+        applyContentDescription();
+        checkForRelayout();
+        invalidate();
+    }
+
+    /**
+     * Drops any running, queued or posted updates of a view that is being recycled. The view
+     * keeps showing the settled text until it is bound again with {@link #bind(CharSequence)}.
+     */
+    public void onRecycled() {
+        postedText.set(null);
+        removeCallbacks(applyPostedText);
+        clearAnimations();
+        cancelContentDescriptionUpdate();
+        columnManager.setAnimationProgress(1f);
+        columnManager.onAnimationEnd();
+        invalidate();
+    }
+
+    /**
+     * @return whether the view cannot currently be seen, either because it is detached or
+     *         because the view, one of its ancestors or its window is not visible.
+     */
+    private boolean isSuspended() {
+        return getWindowVisibility() != VISIBLE || !isShown();
+    }
+
+    /**
+     * Jumps straight to the latest text, skipping the running and any queued animations.
+     */
+    private void suspendAnimations() {
+        final AnimationHolder latest = nextAnimation;
+        if (latest == null && currentAnimation == null && !isAnimationRunning()) {
+            return;
         }
+
+        final CharSequence text = latest != null ? latest.text : null;
+        final CharSequence[] characters = latest != null ? latest.characters : null;
+        clearAnimations();
+        if (latest != null) {
+            recycledAnimation = latest;
+            latest.text = null;
+            latest.characters = null;
+        }
+
+        lastSettledTimeInMillis = SystemClock.uptimeMillis();
+        if (text != null) {
+            setTextInternal(text, characters);
+        }
+        settle();
     }
 
+    /**
+     * A thread-safe version of {@link #setText(CharSequence)} that can be called from any
+     * thread. Only the latest posted text is kept, so any number of calls between two frames
+     * collapse into a single {@link #setText(CharSequence)} on the main thread without
+     * growing the message queue.
+     *
+     * @param text the text to display, must not be null.
+     */
+    public void postText(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Posted text must not be null.");
+        }
+
+        // Only the call that fills an empty mailbox needs to schedule the callback, any later
+        // calls simply replace the text that the scheduled callback will pick up.
+        if (postedText.getAndSet(text) == null) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                postOnAnimation(applyPostedText);
+            } else {
+                post(applyPostedText);
+            }
+        } else {
+            TickerStats.record(stats, TickerStats.Counter.CONFLATED_UPDATES);
+        }
+    }
+
+    private final Runnable applyPostedText = new Runnable() {
+        @Override
+        public void run() {
+            final CharSequence text = postedText.getAndSet(null);
+            if (text != null) {
+                setText(text);
+            }
+        }
+    };
+
     /**
      * Get the last set text on the view. This does not equate to the current shown text on the
      * UI because the animation might not have started or finished yet.
@@ -429,16 +738,19 @@ public class TickerView extends View {
      * @param typeface the typeface to use on the text.
      */
     public void setTypeface(Typeface typeface) {
+        textPaint.setTypeface(createStyledTypeface(typeface));
+        onTextPaintMeasurementChanged();
+    }
+
+    private Typeface createStyledTypeface(Typeface typeface) {
         if (textStyle == Typeface.BOLD_ITALIC) {
-            typeface = Typeface.create(typeface, Typeface.BOLD_ITALIC);
+            return Typeface.create(typeface, Typeface.BOLD_ITALIC);
         } else if (textStyle == Typeface.BOLD) {
-            typeface = Typeface.create(typeface, Typeface.BOLD);
+            return Typeface.create(typeface, Typeface.BOLD);
         } else if (textStyle == Typeface.ITALIC) {
-            typeface = Typeface.create(typeface, Typeface.ITALIC);
+            return Typeface.create(typeface, Typeface.ITALIC);
         }
-
-        textPaint.setTypeface(typeface);
-        onTextPaintMeasurementChanged();
+        return typeface;
     }
 
     /**
@@ -522,6 +834,7 @@ public class TickerView extends View {
     public void setGravity(int gravity) {
         if (this.gravity != gravity) {
             this.gravity = gravity;
+            gravityTranslationWidth = Float.NaN;
             invalidate();
         }
     }
@@ -551,6 +864,237 @@ public class TickerView extends View {
         return animateMeasurementChange;
     }
 
+    /**
+     * Enables/disables reserving the character widths. If this flag is enabled, the view
+     * measures each column that shows a character from the character lists as wide as the
+     * widest character in the lists, so the measured width stays the same across any updates
+     * that keep the same number of columns. Animations then run purely in the draw pass, with
+     * at most one re-layout when they start and one when they end, even inside of lists.
+     *
+     * <p>This flag takes precedence over {@link #setAnimateMeasurementChange(boolean)}.
+     *
+     * <p>This flag is disabled by default.
+     *
+     * @param reserveCharacterWidth whether or not to reserve the character widths.
+     */
+    public void setReserveCharacterWidth(boolean reserveCharacterWidth) {
+        if (this.reserveCharacterWidth != reserveCharacterWidth) {
+            this.reserveCharacterWidth = reserveCharacterWidth;
+            checkForRelayout();
+        }
+    }
+
+    /**
+     * @return whether or not we are reserving the character widths.
+     */
+    public boolean getReserveCharacterWidth() {
+        return reserveCharacterWidth;
+    }
+
+    /**
+     * Enables/disables uniform character widths. If this flag is enabled, every single character
+     * in the character lists is measured as wide as the widest one, similar to tabular figures.
+     * Updates that only change characters within the lists then never change the width of the
+     * text, so the view doesn't need to check for re-layout during those animations.
+     *
+     * <p>Fonts that already use tabular figures get the same benefit without this flag, since
+     * their characters are measured to identical widths.
+     *
+     * <p>This flag is disabled by default.
+     *
+     * @param uniformCharacterWidth whether or not to use uniform character widths.
+     */
+    public void setUniformCharacterWidth(boolean uniformCharacterWidth) {
+        if (metrics.isUniformCharacterListWidth() != uniformCharacterWidth) {
+            metrics.setUniformCharacterListWidth(uniformCharacterWidth);
+            onTextPaintMeasurementChanged();
+        }
+    }
+
+    /**
+     * @return whether or not we are using uniform character widths.
+     */
+    public boolean getUniformCharacterWidth() {
+        return metrics.isUniformCharacterListWidth();
+    }
+
+    /**
+     * Limits how many animated updates can start per second. Updates that arrive faster are
+     * conflated according to {@link #setUpdateConflation}, without being diffed or measured.
+     * Updates that are not animated are always applied immediately.
+     *
+     * <p>The default is 0, which doesn't limit the update rate.
+     *
+     * @param maxUpdatesPerSecond the maximum number of updates per second, or 0.
+     */
+    public void setMaxUpdatesPerSecond(float maxUpdatesPerSecond) {
+        this.maxUpdatesPerSecond = maxUpdatesPerSecond;
+    }
+
+    /**
+     * @return the maximum number of animated updates per second, or 0 if unlimited.
+     */
+    public float getMaxUpdatesPerSecond() {
+        return maxUpdatesPerSecond;
+    }
+
+    /**
+     * Sets the minimum time in milliseconds that a value stays on screen after its animation
+     * finishes, before the next animated update can start. Updates that arrive sooner are
+     * conflated according to {@link #setUpdateConflation}.
+     *
+     * <p>The default minimum dwell time is 0.
+     *
+     * @param minimumDwellTimeInMillis the minimum dwell time in milliseconds.
+     */
+    public void setMinimumDwellTime(long minimumDwellTimeInMillis) {
+        this.minimumDwellTimeInMillis = minimumDwellTimeInMillis;
+    }
+
+    /**
+     * @return the minimum time in milliseconds that a settled value stays on screen.
+     */
+    public long getMinimumDwellTime() {
+        return minimumDwellTimeInMillis;
+    }
+
+    /**
+     * Sets how updates that arrive faster than the update policy allows are handled. The
+     * default is {@link UpdateConflation#SHOW_LAST}.
+     *
+     * @param updateConflation the {@link UpdateConflation} to use.
+     */
+    public void setUpdateConflation(UpdateConflation updateConflation) {
+        this.updateConflation = updateConflation;
+    }
+
+    /**
+     * @return how updates that arrive faster than the update policy allows are handled.
+     */
+    public UpdateConflation getUpdateConflation() {
+        return updateConflation;
+    }
+
+    /**
+     * Sets how the content description of this view follows its text. Every change of the
+     * content description makes accessibility services refresh the view and possibly read it
+     * out, which is costly and hard to follow for text that updates many times a second. The
+     * policy only affects the content description, the text on screen is updated as usual.
+     *
+     * <p>The default is {@link AccessibilityUpdatePolicy#IMMEDIATE}.
+     *
+     * @param policy the {@link AccessibilityUpdatePolicy} to use.
+     */
+    public void setAccessibilityUpdatePolicy(AccessibilityUpdatePolicy policy) {
+        if (accessibilityUpdatePolicy == policy) {
+            return;
+        }
+        final boolean wasLiveRegion =
+                accessibilityUpdatePolicy == AccessibilityUpdatePolicy.POLITE_LIVE_REGION;
+        accessibilityUpdatePolicy = policy;
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            if (policy == AccessibilityUpdatePolicy.POLITE_LIVE_REGION) {
+                setAccessibilityLiveRegion(ACCESSIBILITY_LIVE_REGION_POLITE);
+            } else if (wasLiveRegion) {
+                setAccessibilityLiveRegion(ACCESSIBILITY_LIVE_REGION_NONE);
+            }
+        }
+
+        // Catch up with the text right away, any pending update is obsolete
+        cancelContentDescriptionUpdate();
+        if (policy != AccessibilityUpdatePolicy.ON_SETTLE
+                || (currentAnimation == null && nextAnimation == null)) {
+            applyContentDescription();
+        }
+    }
+
+    /**
+     * Makes this view count its work into {@param stats}, in addition to the global counters
+     * of {@link TickerStats#getGlobal()}. The same instance can be shared by several views.
+     *
+     * @param stats the counters to record into, or null to stop recording.
+     */
+    public void setStats(TickerStats stats) {
+        this.stats = stats;
+        metrics.setStats(stats);
+        columnManager.setStats(stats);
+    }
+
+    /**
+     * @return the counters this view records into, or null.
+     */
+    public TickerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * @return how the content description of this view follows its text.
+     */
+    public AccessibilityUpdatePolicy getAccessibilityUpdatePolicy() {
+        return accessibilityUpdatePolicy;
+    }
+
+    /**
+     * Sets the minimum time in milliseconds between two content description updates when using
+     * {@link AccessibilityUpdatePolicy#THROTTLED} or
+     * {@link AccessibilityUpdatePolicy#POLITE_LIVE_REGION}. The default interval is one second.
+     *
+     * @param accessibilityUpdateIntervalInMillis the interval in milliseconds.
+     */
+    public void setAccessibilityUpdateInterval(long accessibilityUpdateIntervalInMillis) {
+        this.accessibilityUpdateIntervalInMillis = accessibilityUpdateIntervalInMillis;
+    }
+
+    /**
+     * @return the minimum time in milliseconds between two content description updates.
+     */
+    public long getAccessibilityUpdateInterval() {
+        return accessibilityUpdateIntervalInMillis;
+    }
+
+    /**
+     * Sets a shared {@link TickerAnimationDriver} to run this view's animations from, instead of
+     * a {@link ValueAnimator} owned by this view. This is recommended for screens with many
+     * tickers, since the per-frame dispatch cost then scales with the number of animating
+     * tickers rather than with the number of animators.
+     *
+     * <p>Animator listeners added via {@link #addAnimatorListener} are not notified of
+     * animations that run on a driver. Animations that run on a driver also follow the quality
+     * level of its {@link TickerAnimationDriver#getQualityMonitor() quality monitor}.
+     *
+     * <p>The default is null, which uses a {@link ValueAnimator}.
+     *
+     * @param animationDriver the driver to run animations from, e.g.
+     *                        {@link TickerAnimationDriver#getInstance()}, or null.
+     */
+    public void setAnimationDriver(TickerAnimationDriver animationDriver) {
+        if (this.animationDriver == animationDriver) {
+            return;
+        }
+
+        // Any animation that is currently running ends immediately, and whatever animation is
+        // queued up next is started on the new driver.
+        final TickerAnimationDriver previousDriver = this.animationDriver;
+        this.animationDriver = animationDriver;
+        if (previousDriver != null) {
+            if (driverAnimation.isRunning()) {
+                driverAnimation.cancel();
+                onAnimationFinished();
+            }
+        } else if (animator != null && animator.isRunning()) {
+            animator.cancel();
+        }
+    }
+
+    /**
+     * @return the shared animation driver used by this view, or null if it uses its own
+     *         {@link ValueAnimator}.
+     */
+    public TickerAnimationDriver getAnimationDriver() {
+        return animationDriver;
+    }
+
     /**
      * Adds a custom {@link android.animation.Animator.AnimatorListener} to listen to animator
      * update events used by this view.
@@ -558,7 +1102,7 @@ public class TickerView extends View {
      * @param animatorListener the custom animator listener.
      */
     public void addAnimatorListener(Animator.AnimatorListener animatorListener) {
-        animator.addListener(animatorListener);
+        getAnimator().addListener(animatorListener);
     }
 
     /**
@@ -568,7 +1112,9 @@ public class TickerView extends View {
      * @param animatorListener the custom animator listener.
      */
     public void removeAnimatorListener(Animator.AnimatorListener animatorListener) {
-        animator.removeListener(animatorListener);
+        if (animator != null) {
+            animator.removeListener(animatorListener);
+        }
     }
 
     /**
@@ -616,9 +1162,15 @@ public class TickerView extends View {
     }
 
     private int computeDesiredWidth() {
-        final int contentWidth = (int) (animateMeasurementChange ?
-                columnManager.getCurrentWidth() : columnManager.getMinimumRequiredWidth());
-        return contentWidth + getPaddingLeft() + getPaddingRight();
+        final float contentWidth;
+        if (reserveCharacterWidth) {
+            contentWidth = columnManager.getReservedWidth();
+        } else if (animateMeasurementChange) {
+            contentWidth = columnManager.getCurrentWidth();
+        } else {
+            contentWidth = columnManager.getMinimumRequiredWidth();
+        }
+        return (int) contentWidth + getPaddingLeft() + getPaddingRight();
     }
 
     private int computeDesiredHeight() {
@@ -629,6 +1181,9 @@ public class TickerView extends View {
      * Re-initialize all of our variables that are dependent on the TextPaint measurements.
      */
     private void onTextPaintMeasurementChanged() {
+        if (preparePaint != null) {
+            preparePaint = new TextPaint(textPaint);
+        }
         metrics.invalidate();
         checkForRelayout();
         invalidate();
@@ -650,6 +1205,34 @@ public class TickerView extends View {
         super.onSizeChanged(width, height, oldw, oldh);
         viewBounds.set(getPaddingLeft(), getPaddingTop(), width - getPaddingRight(),
                 height - getPaddingBottom());
+        gravityTranslationWidth = Float.NaN;
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        // This can be called from the View constructor before our fields are initialized.
+        if (columnManager != null && isSuspended()) {
+            suspendAnimations();
+        }
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (visibility != VISIBLE) {
+            suspendAnimations();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        suspendAnimations();
+        if (contentDescriptionScheduled) {
+            cancelContentDescriptionUpdate();
+            applyContentDescription();
+        }
     }
 
     @Override
@@ -663,7 +1246,7 @@ public class TickerView extends View {
         // canvas.drawText writes the text on the baseline so we need to translate beforehand.
         canvas.translate(0f, metrics.getCharBaseline());
 
-        columnManager.draw(canvas, textPaint);
+        columnManager.draw(tickerCanvas.wrap(canvas, textPaint));
 
         canvas.restore();
     }
@@ -671,12 +1254,32 @@ public class TickerView extends View {
     private void realignAndClipCanvasForGravity(Canvas canvas) {
         final float currentWidth = columnManager.getCurrentWidth();
         final float currentHeight = metrics.getCharHeight();
-        realignAndClipCanvasForGravity(canvas, gravity, viewBounds, currentWidth, currentHeight);
+        if (currentWidth != gravityTranslationWidth || currentHeight != gravityTranslationHeight) {
+            computeGravityTranslation(gravity, viewBounds, currentWidth, currentHeight,
+                    gravityTranslation);
+            gravityTranslationWidth = currentWidth;
+            gravityTranslationHeight = currentHeight;
+        }
+
+        canvas.translate(gravityTranslation[0], gravityTranslation[1]);
+        canvas.clipRect(0f, 0f, currentWidth, currentHeight);
     }
 
     // VisibleForTesting
     static void realignAndClipCanvasForGravity(Canvas canvas, int gravity, Rect viewBounds,
             float currentWidth, float currentHeight) {
+        final float[] translation = new float[2];
+        computeGravityTranslation(gravity, viewBounds, currentWidth, currentHeight, translation);
+        canvas.translate(translation[0], translation[1]);
+        canvas.clipRect(0f, 0f, currentWidth, currentHeight);
+    }
+
+    /**
+     * Computes the x and y translations for aligning the content within {@param viewBounds}
+     * and stores them in {@param outTranslation}.
+     */
+    static void computeGravityTranslation(int gravity, Rect viewBounds,
+            float currentWidth, float currentHeight, float[] outTranslation) {
         final int availableWidth = viewBounds.width();
         final int availableHeight = viewBounds.height();
 
@@ -701,39 +1304,257 @@ public class TickerView extends View {
             translationX = viewBounds.left + (availableWidth - currentWidth);
         }
 
-        canvas.translate(translationX, translationY);
-        canvas.clipRect(0f, 0f, currentWidth, currentHeight);
+        outTranslation[0] = translationX;
+        outTranslation[1] = translationY;
     }
 
-    private void setTextInternal(CharSequence text) {
+    private void setTextInternal(CharSequence text, CharSequence[] characters) {
         this.text = text;
-        columnManager.setText(text);
-        setContentDescription(text);
+        if (characters != null) {
+            columnManager.setText(characters);
+        } else {
+            columnManager.setText(text);
+        }
     }
 
+    private void updateContentDescription() {
+        switch (accessibilityUpdatePolicy) {
+            case IMMEDIATE:
+                applyContentDescription();
+                break;
+            case ON_SETTLE:
+                // Applied once the view settles, see settle and onAnimationFinished
+                break;
+            default:
+                if (!contentDescriptionScheduled) {
+                    final long delay = lastContentDescriptionTimeInMillis
+                            + accessibilityUpdateIntervalInMillis - SystemClock.uptimeMillis();
+                    if (delay > 0) {
+                        contentDescriptionScheduled = true;
+                        postDelayed(scheduledContentDescription, delay);
+                    } else {
+                        applyContentDescription();
+                    }
+                }
+        }
+    }
+
+    private void applyContentDescription() {
+        lastContentDescriptionTimeInMillis = SystemClock.uptimeMillis();
+        final CharSequence text = getLatestText();
+        // Every change dispatches accessibility events, so skip the ones that change nothing.
+        if (!TextUtils.equals(getContentDescription(), text)) {
+            setContentDescription(text);
+        }
+    }
+
+    private void cancelContentDescriptionUpdate() {
+        if (contentDescriptionScheduled) {
+            contentDescriptionScheduled = false;
+            removeCallbacks(scheduledContentDescription);
+        }
+    }
+
+    private final Runnable scheduledContentDescription = new Runnable() {
+        @Override
+        public void run() {
+            contentDescriptionScheduled = false;
+            // Picks up whatever text was set last while the update was pending
+            applyContentDescription();
+        }
+    };
+
     private void startNextAnimation() {
+        if (nextAnimation != null) {
+            final long delay = getUpdateDelay();
+            if (delay > 0) {
+                // Hold on to the queued animation until the update policy allows it to start.
+                recycleCurrentAnimation();
+                if (!updateScheduled) {
+                    updateScheduled = true;
+                    postDelayed(scheduledUpdate, delay);
+                }
+                return;
+            }
+        }
+
+        recycleCurrentAnimation();
         AnimationHolder holder = currentAnimation = nextAnimation;
         nextAnimation = null;
         if (holder == null) return;
 
-        setTextInternal(holder.text);
-        animator.setStartDelay(holder.animationDelayInMillis);
-        animator.setDuration(holder.animationDurationInMillis);
-        animator.setInterpolator(holder.animationInterpolator);
-        animator.start();
+        lastUpdateTimeInMillis = SystemClock.uptimeMillis();
+
+        final TickerQualityMonitor.Level level = animationDriver != null
+                ? animationDriver.getQualityMonitor().getLevel()
+                : TickerQualityMonitor.Level.FULL;
+        final boolean instant = level == TickerQualityMonitor.Level.INSTANT && !isFocused();
+        columnManager.setCrossFade(level.compareTo(TickerQualityMonitor.Level.CROSS_FADE) >= 0);
+
+        setTextInternal(holder.text, holder.characters);
+        checkForRelayout();
+        if (instant) {
+            columnManager.setAnimationProgress(1f);
+            onAnimationFinished();
+        } else if (animationDriver != null) {
+            driverAnimation.start(animationDriver, holder.animationDelayInMillis,
+                    holder.animationDurationInMillis, holder.animationInterpolator,
+                    level != TickerQualityMonitor.Level.FULL);
+        } else {
+            final ValueAnimator animator = getAnimator();
+            animator.setStartDelay(holder.animationDelayInMillis);
+            animator.setDuration(holder.animationDurationInMillis);
+            animator.setInterpolator(holder.animationInterpolator);
+            animator.start();
+        }
+    }
+
+    private void recycleCurrentAnimation() {
+        if (currentAnimation != null) {
+            recycledAnimation = currentAnimation;
+            recycledAnimation.text = null;
+            recycledAnimation.characters = null;
+            currentAnimation = null;
+        }
+    }
+
+    /**
+     * @return the time in milliseconds until the update policy allows the next animated update
+     *         to start, or a non-positive value if it can start right away.
+     */
+    private long getUpdateDelay() {
+        long earliestUpdateTime = 0;
+        if (maxUpdatesPerSecond > 0f) {
+            earliestUpdateTime = lastUpdateTimeInMillis + (long) (1000 / maxUpdatesPerSecond);
+        }
+        if (minimumDwellTimeInMillis > 0) {
+            earliestUpdateTime = Math.max(earliestUpdateTime,
+                    lastSettledTimeInMillis + minimumDwellTimeInMillis);
+        }
+        return earliestUpdateTime == 0 ? 0 : earliestUpdateTime - SystemClock.uptimeMillis();
+    }
+
+    private final Runnable scheduledUpdate = new Runnable() {
+        @Override
+        public void run() {
+            updateScheduled = false;
+            if (currentAnimation == null) {
+                startNextAnimation();
+            }
+        }
+    };
+
+    private boolean isAnimationRunning() {
+        return animationDriver != null
+                ? driverAnimation.isRunning() : animator != null && animator.isRunning();
+    }
+
+    private void cancelAnimation() {
+        if (animationDriver != null) {
+            if (driverAnimation.isRunning()) {
+                driverAnimation.cancel();
+                onAnimationFinished();
+            }
+        } else if (animator != null) {
+            animator.cancel();
+        }
+    }
+
+    private void onAnimationProgress(float animatedFraction) {
+        TickerStats.record(stats, TickerStats.Counter.FRAMES_ANIMATED);
+        columnManager.setAnimationProgress(animatedFraction);
+        // The measured width can only change between frames if some column is
+        // animating its width, and never when reserving the character widths.
+        if (!reserveCharacterWidth && columnManager.isWidthAnimating()) {
+            checkForRelayout();
+        }
+        invalidateAnimatingColumns();
+    }
+
+    /**
+     * Invalidates only the region of the columns that move in the current animation, falling
+     * back to invalidating the whole view whenever the position of the text might shift.
+     */
+    @SuppressWarnings("deprecation")
+    private void invalidateAnimatingColumns() {
+        final float currentHeight = metrics.getCharHeight();
+        if (columnManager.isWidthAnimating()
+                || columnManager.getCurrentWidth() != gravityTranslationWidth
+                || currentHeight != gravityTranslationHeight
+                || hasShadow || textPaint.getMaskFilter() != null
+                || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                        && textPaint.getShadowLayerRadius() > 0f)) {
+            invalidate();
+            return;
+        }
+
+        final float left = columnManager.getAnimatingLeft();
+        final float right = columnManager.getAnimatingRight();
+        if (right > left) {
+            // Leave some room for glyphs that overhang their advance width, e.g. italics.
+            final float overhang = currentHeight / 4f;
+            invalidate(
+                    (int) Math.floor(gravityTranslation[0] + left - overhang),
+                    (int) Math.floor(gravityTranslation[1]),
+                    (int) Math.ceil(gravityTranslation[0] + right + overhang),
+                    (int) Math.ceil(gravityTranslation[1] + currentHeight));
+        }
+    }
+
+    private void onAnimationFinished() {
+        lastSettledTimeInMillis = SystemClock.uptimeMillis();
+        columnManager.onAnimationEnd();
+        checkForRelayout();
+        invalidate();
+        if (accessibilityUpdatePolicy == AccessibilityUpdatePolicy.ON_SETTLE
+                && nextAnimation == null) {
+            applyContentDescription();
+        }
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            startNextAnimation.run();
+        } else {
+            post(startNextAnimation);
+        }
+    }
+
+    private final Runnable startNextAnimation = new Runnable() {
+        @Override
+        public void run() {
+            startNextAnimation();
+        }
+    };
+
+    /**
+     * Runs a single transition on {@link #animationDriver}, mirroring the timing of the
+     * {@link ValueAnimator} used otherwise.
+     */
+    private final class DriverAnimation extends TickerAnimationDriver.TimedClient {
+        @Override
+        void onProgress(float progress) {
+            onAnimationProgress(progress);
+        }
+
+        @Override
+        void onFinished() {
+            onAnimationFinished();
+        }
     }
 
     private static final class AnimationHolder {
-        public final CharSequence text;
-        public final long animationDelayInMillis;
-        public final long animationDurationInMillis;
-        public final Interpolator animationInterpolator;
-
-        private AnimationHolder(CharSequence text,
-                                long animationDelayInMillis,
-                                long animationDurationInMillis,
-                                Interpolator animationInterpolator) {
+        public CharSequence text;
+        public CharSequence[] characters;
+        public long animationDelayInMillis;
+        public long animationDurationInMillis;
+        public Interpolator animationInterpolator;
+
+        private void set(CharSequence text,
+                         CharSequence[] characters,
+                         long animationDelayInMillis,
+                         long animationDurationInMillis,
+                         Interpolator animationInterpolator) {
             this.text = text;
+            this.characters = characters;
             this.animationDelayInMillis = animationDelayInMillis;
             this.animationDurationInMillis = animationDurationInMillis;
             this.animationInterpolator = animationInterpolator;
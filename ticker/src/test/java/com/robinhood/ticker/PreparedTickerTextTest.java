@@ -0,0 +1,49 @@
+package com.robinhood.ticker;
+
+import android.graphics.Paint;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PreparedTickerTextTest {
+    @Mock Paint paint;
+    private TickerWidthCache cache;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        when(paint.measureText((CharSequence) "1",0,1)).thenReturn(1f);
+        when(paint.measureText((CharSequence) "2",0,1)).thenReturn(2f);
+
+        cache = new TickerWidthCache(2);
+    }
+
+    @Test
+    public void test_prepare() {
+        final PreparedTickerText text = PreparedTickerText.prepare("121", paint, cache);
+        assertEquals("121", text.getText());
+
+        final CharSequence[] characters = text.getCharacters();
+        assertEquals(3, characters.length);
+        assertEquals("1", characters[0]);
+        assertEquals("2", characters[1]);
+        assertSame(characters[0], characters[2]);
+
+        final TickerWidthCache.StyleWidths widths = cache.getStyleWidths(new TickerPaintSignature(paint));
+        assertEquals(1f, widths.getCharWidth('1'), 0f);
+        assertEquals(2f, widths.getCharWidth('2'), 0f);
+
+        // Each character is only measured once
+        verify(paint, times(1)).measureText((CharSequence) "1",0,1);
+        verify(paint, times(1)).measureText((CharSequence) "2",0,1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.robinhood.ticker;
+
+import android.graphics.Paint;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowPaint;
+
+/**
+ * Measures "1" half as wide as any other character, and every line 30 pixels high.
+ */
+@Implements(Paint.class)
+public class ShadowProportionalPaint extends ShadowPaint {
+    @Implementation
+    @Override
+    protected float measureText(char[] text, int index, int count) {
+        return measure(new String(text, index, count));
+    }
+
+    @Implementation
+    @Override
+    protected float measureText(CharSequence text, int start, int end) {
+        return measure(text.subSequence(start, end));
+    }
+
+    @Implementation
+    protected float getFontMetrics(Paint.FontMetrics metrics) {
+        if (metrics != null) {
+            metrics.top = -20f;
+            metrics.ascent = -20f;
+            metrics.descent = 10f;
+            metrics.bottom = 10f;
+        }
+        return 30f;
+    }
+
+    private static float measure(CharSequence text) {
+        float width = 0f;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) == '1' ? 10f : 20f;
+        }
+        return width;
+    }
+}
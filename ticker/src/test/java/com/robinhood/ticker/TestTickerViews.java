@@ -0,0 +1,46 @@
+package com.robinhood.ticker;
+
+import android.app.Activity;
+import android.os.Looper;
+
+import org.robolectric.Robolectric;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Helpers for Robolectric tests that run a {@link TickerView} on the main looper.
+ */
+final class TestTickerViews {
+    private TestTickerViews() {
+    }
+
+    /**
+     * @return a ticker view with the number list in a visible window, since hidden views skip
+     *         their animations.
+     */
+    static TickerView attach() {
+        final ActivityController<Activity> controller =
+                Robolectric.buildActivity(Activity.class).create();
+        final TickerView tickerView = new TickerView(controller.get());
+        tickerView.setCharacterLists(TickerUtils.provideNumberList());
+        controller.get().setContentView(tickerView);
+        controller.start().resume().visible();
+        // Depending on the SDK, the window isn't marked as visible by the activity controller.
+        ReflectionHelpers.callInstanceMethod(tickerView.getRootView().getParent(),
+                "dispatchAppVisibility", ReflectionHelpers.ClassParameter.from(boolean.class, true));
+        idleFor(0);
+        return tickerView;
+    }
+
+    /**
+     * Advances the clock of the main looper, running everything that is due in the meantime
+     * including animation frames.
+     */
+    static void idleFor(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(millis, TimeUnit.MILLISECONDS);
+    }
+}
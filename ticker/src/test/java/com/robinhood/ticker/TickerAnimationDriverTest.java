@@ -0,0 +1,212 @@
+package com.robinhood.ticker;
+
+import android.view.Choreographer;
+import android.view.animation.LinearInterpolator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+// Runs on Robolectric so that tickers can be driven by the real Choreographer.
+@RunWith(RobolectricTestRunner.class)
+public class TickerAnimationDriverTest {
+    @Mock Choreographer choreographer;
+
+    private TickerAnimationDriver driver;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        driver = new TickerAnimationDriver(choreographer);
+    }
+
+    @Test
+    public void test_singleFrameCallback() {
+        final TestClient client1 = new TestClient(2);
+        final TestClient client2 = new TestClient(1);
+        driver.start(client1);
+        driver.start(client2);
+        verify(choreographer, times(1)).postFrameCallback(any(Choreographer.FrameCallback.class));
+
+        driver.onFrame(1L);
+        assertEquals(1, client1.frames);
+        assertEquals(1, client2.frames);
+        assertTrue(client1.isRunning());
+        assertFalse(client2.isRunning());
+        verify(choreographer, times(2)).postFrameCallback(any(Choreographer.FrameCallback.class));
+
+        driver.onFrame(2L);
+        assertEquals(2, client1.frames);
+        assertEquals(1, client2.frames);
+        assertFalse(client1.isRunning());
+
+        // Nothing is running anymore, so we should not request any more frames
+        verifyNoMoreInteractions(choreographer);
+    }
+
+    @Test
+    public void test_cancelAndRestart() {
+        final TestClient client = new TestClient(10);
+        driver.start(client);
+        driver.cancel(client);
+        driver.start(client);
+        reset(choreographer);
+
+        driver.onFrame(1L);
+        assertEquals(1, client.frames);
+
+        driver.cancel(client);
+        driver.onFrame(2L);
+        assertEquals(1, client.frames);
+
+        driver.start(client);
+        driver.onFrame(3L);
+        assertEquals(2, client.frames);
+    }
+
+    @Test
+    public void test_lowerLevel_keepsSamplingFrames() {
+        final TickerQualityMonitor monitor = driver.getQualityMonitor();
+        final long budget = monitor.getFrameBudget();
+        monitor.setEnabled(true);
+        final TestClient client = new TestClient(TickerQualityMonitor.WINDOW_FRAMES + 1);
+        driver.start(client);
+
+        // A window of slow frames lowers the level as the only client finishes
+        long frameTime = 0L;
+        for (int i = 0; i <= TickerQualityMonitor.WINDOW_FRAMES; i++) {
+            frameTime += budget * 2;
+            driver.onFrame(frameTime);
+        }
+        assertFalse(client.isRunning());
+        assertEquals(TickerQualityMonitor.Level.SHORT_ANIMATIONS, monitor.getLevel());
+
+        // The driver keeps requesting frames until they recover
+        final int recoveryFrames =
+                TickerQualityMonitor.WINDOW_FRAMES * TickerQualityMonitor.STEP_UP_CLEAN_WINDOWS;
+        for (int i = 0; i < recoveryFrames; i++) {
+            reset(choreographer);
+            frameTime += budget;
+            driver.onFrame(frameTime);
+            if (i < recoveryFrames - 1) {
+                verify(choreographer).postFrameCallback(any(Choreographer.FrameCallback.class));
+            }
+        }
+        assertEquals(TickerQualityMonitor.Level.FULL, monitor.getLevel());
+        verifyNoMoreInteractions(choreographer);
+    }
+
+    @Test
+    public void test_lowerLevel_recoversWithUnfocusedTickers() {
+        final TickerAnimationDriver driver = new TickerAnimationDriver(Choreographer.getInstance());
+        final TickerQualityMonitor monitor = driver.getQualityMonitor();
+        monitor.setEnabled(true);
+        for (int i = 0; i < TickerQualityMonitor.WINDOW_FRAMES * 3; i++) {
+            monitor.onFrameInterval(monitor.getFrameBudget() * 2);
+        }
+        assertEquals(TickerQualityMonitor.Level.INSTANT, monitor.getLevel());
+
+        // Unfocused tickers update instantly and never start an animation on the driver
+        final TickerView tickerView1 = TestTickerViews.attach();
+        final TickerView tickerView2 = TestTickerViews.attach();
+        tickerView1.setAnimationDriver(driver);
+        tickerView2.setAnimationDriver(driver);
+        tickerView1.setText("1");
+        tickerView2.setText("1");
+        tickerView1.setText("2");
+        tickerView2.setText("2");
+
+        // Frames now arrive on time, so the level recovers step by step
+        idleFor(10000);
+        assertEquals(TickerQualityMonitor.Level.FULL, monitor.getLevel());
+    }
+
+    @Test
+    public void test_timedClient() {
+        final TestTimedClient client = new TestTimedClient();
+        client.start(driver, 10, 100, new LinearInterpolator(), false);
+
+        // The delay starts with the first frame
+        driver.onFrame(1000000L);
+        driver.onFrame(11000000L);
+        assertEquals(0f, client.progress, 0f);
+        driver.onFrame(61000000L);
+        assertEquals(0.5f, client.progress, 0.001f);
+        assertFalse(client.finished);
+        driver.onFrame(111000000L);
+        assertEquals(1f, client.progress, 0f);
+        assertTrue(client.finished);
+        assertFalse(client.isRunning());
+    }
+
+    @Test
+    public void test_timedClient_reduced() {
+        final TestTimedClient client = new TestTimedClient();
+        client.start(driver, 10, 100, new LinearInterpolator(), true);
+
+        // No delay and half of the duration
+        driver.onFrame(1000000L);
+        assertEquals(0f, client.progress, 0f);
+        driver.onFrame(26000000L);
+        assertEquals(0.5f, client.progress, 0.001f);
+        driver.onFrame(51000000L);
+        assertTrue(client.finished);
+    }
+
+    @Test
+    public void test_timedClient_cancel() {
+        final TestTimedClient client = new TestTimedClient();
+        client.start(driver, 0, 100, new LinearInterpolator(), false);
+        driver.onFrame(1L);
+        client.cancel();
+        driver.onFrame(200000000L);
+        assertEquals(0f, client.progress, 0f);
+        assertFalse(client.finished);
+    }
+
+    private static class TestTimedClient extends TickerAnimationDriver.TimedClient {
+        float progress;
+        boolean finished;
+
+        @Override
+        void onProgress(float progress) {
+            this.progress = progress;
+        }
+
+        @Override
+        void onFinished() {
+            finished = true;
+        }
+    }
+
+    private class TestClient extends TickerAnimationDriver.Client {
+        private final int totalFrames;
+        int frames;
+
+        TestClient(int totalFrames) {
+            this.totalFrames = totalFrames;
+        }
+
+        @Override
+        void doFrame(long frameTimeNanos) {
+            frames++;
+            if (frames == totalFrames) {
+                driver.cancel(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.robinhood.ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class TickerBatchTest {
+    private TickerView tickerView1, tickerView2;
+
+    @Before
+    public void setup() {
+        tickerView1 = TestTickerViews.attach();
+        tickerView2 = TestTickerViews.attach();
+        tickerView1.setText("1", false);
+        tickerView2.setText("1", false);
+        // Animated updates are held back, so they can be told apart from the others.
+        tickerView1.setMaxUpdatesPerSecond(1f);
+        tickerView2.setMaxUpdatesPerSecond(1f);
+    }
+
+    @Test
+    public void test_commit_mainThread() {
+        TickerBatch.begin()
+                .setText(tickerView1, "2", false)
+                .setText(tickerView2, "3", false)
+                .commit();
+
+        assertEquals("2", tickerView1.getText());
+        assertEquals("3", tickerView2.getText());
+    }
+
+    @Test
+    public void test_commit_animation() {
+        TickerBatch.begin()
+                .setText(tickerView1, "2")
+                .setText(tickerView2, "2", true)
+                .commit();
+
+        // Both animate, like TickerView.setText(CharSequence) would for a non-empty view
+        assertEquals("1", tickerView1.getText());
+        assertEquals("1", tickerView2.getText());
+        idleFor(1100);
+        assertEquals("2", tickerView1.getText());
+        assertEquals("2", tickerView2.getText());
+    }
+
+    @Test
+    public void test_commit_manyUpdates() {
+        final TickerBatch batch = TickerBatch.begin();
+        for (int i = 0; i < 20; i++) {
+            batch.setText(tickerView1, Integer.toString(i), i % 2 == 0);
+        }
+        batch.commit();
+
+        // The last update isn't animated and wins
+        assertEquals("19", tickerView1.getText());
+    }
+
+    @Test
+    public void test_commit_backgroundThread() throws InterruptedException {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    TickerBatch.begin()
+                            .setText(tickerView1, "2", false)
+                            .setText(tickerView2, "3", false)
+                            .setText(tickerView1, "4", false)
+                            .commit();
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        assertNull(error.get());
+
+        // Nothing is applied until the main thread runs the batch
+        assertEquals("1", tickerView1.getText());
+        assertEquals("1", tickerView2.getText());
+
+        idleFor(0);
+        // Updates are applied in the order they were added
+        assertEquals("4", tickerView1.getText());
+        assertEquals("3", tickerView2.getText());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_commit_twice() {
+        final TickerBatch batch = TickerBatch.begin().setText(tickerView1, "2");
+        batch.commit();
+        batch.commit();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_setText_afterCommit() {
+        final TickerBatch batch = TickerBatch.begin().setText(tickerView1, "2");
+        batch.commit();
+        batch.setText(tickerView1, "3");
+    }
+}
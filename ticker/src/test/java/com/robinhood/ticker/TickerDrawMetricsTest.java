@@ -4,11 +4,18 @@ import android.graphics.Paint;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -36,6 +43,17 @@ public class TickerDrawMetricsTest {
         assertEquals(50f, metrics.getCharBaseline(), 0f);
     }
 
+    @Test
+    public void test_fontMetrics_lazy() {
+        metrics.invalidate();
+        metrics.invalidate();
+        verify(paint, never()).getFontMetrics();
+
+        assertEquals(70f, metrics.getCharHeight(), 0f);
+        assertEquals(50f, metrics.getCharBaseline(), 0f);
+        verify(paint, times(1)).getFontMetrics();
+    }
+
     @Test
     public void test_charWidth() {
         when(paint.measureText((CharSequence) "1",0,1)).thenReturn(1f);
@@ -64,4 +82,111 @@ public class TickerDrawMetricsTest {
         verify(paint, times(2)).getFontMetrics();
         verifyNoMoreInteractions(paint);
     }
+
+    @Test
+    public void test_charWidth_outsideTable() {
+        when(paint.measureText((CharSequence) "\u20AC",0,1)).thenReturn(4f);
+        when(paint.measureText((CharSequence) "ab",0,2)).thenReturn(5f);
+
+        assertEquals(4f, metrics.getCharWidth("\u20AC"), 0f);
+        assertEquals(5f, metrics.getCharWidth("ab"), 0f);
+        assertEquals(0f, metrics.getCharWidth(TickerUtils.EMPTY_CHAR), 0f);
+
+        // Subsequent calls should be cached
+        assertEquals(4f, metrics.getCharWidth("\u20AC"), 0f);
+        assertEquals(5f, metrics.getCharWidth("ab"), 0f);
+
+        metrics.invalidate();
+
+        // These calls should re-measure based on the paint
+        assertEquals(4f, metrics.getCharWidth("\u20AC"), 0f);
+        assertEquals(5f, metrics.getCharWidth("ab"), 0f);
+
+        verify(paint, times(2)).measureText((CharSequence) "\u20AC",0,1);
+        verify(paint, times(2)).measureText((CharSequence) "ab",0,2);
+        verify(paint, times(2)).getFontMetrics();
+        verifyNoMoreInteractions(paint);
+    }
+
+    @Test
+    public void test_charWidth_characterListsMeasuredTogether() {
+        stubSingleCharWidths();
+
+        metrics.setCharacterLists(new TickerCharacterList[]{new TickerCharacterList("123")});
+
+        assertEquals(1f, metrics.getCharWidth("1"), 0f);
+        assertEquals(2f, metrics.getCharWidth("2"), 0f);
+        assertEquals(3f, metrics.getCharWidth("3"), 0f);
+
+        metrics.invalidate();
+
+        assertEquals(3f, metrics.getCharWidth("3"), 0f);
+        assertEquals(2f, metrics.getCharWidth("2"), 0f);
+
+        verify(paint, times(6)).measureText(any(char[].class), anyInt(), eq(1));
+        verify(paint, times(2)).getFontMetrics();
+        verifyNoMoreInteractions(paint);
+    }
+
+    @Test
+    public void test_charWidth_characterListsMeasuredInIsolation() {
+        stubSingleCharWidths();
+        when(paint.measureText((CharSequence) "1",0,1)).thenReturn(1f);
+        when(paint.measureText((CharSequence) "2",0,1)).thenReturn(2f);
+        // Measuring the characters in context would kern them closer together.
+        doAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                final float[] widths = invocation.getArgument(3);
+                for (int i = 0; i < widths.length; i++) {
+                    widths[i] = 0.5f;
+                }
+                return widths.length;
+            }
+        }).when(paint).getTextWidths(any(char[].class), anyInt(), anyInt(), any(float[].class));
+
+        final TickerDrawMetrics listMetrics = new TickerDrawMetrics(paint);
+        listMetrics.setCharacterLists(
+                new TickerCharacterList[]{new TickerCharacterList("12")});
+
+        // A character has the same width whether or not it was measured with its list.
+        assertEquals(metrics.getCharWidth("1"), listMetrics.getCharWidth("1"), 0f);
+        assertEquals(metrics.getCharWidth("2"), listMetrics.getCharWidth("2"), 0f);
+        assertEquals(2f, listMetrics.getCharacterListMaxWidth(), 0f);
+    }
+
+    @Test
+    public void test_charWidth_uniformCharacterListWidth() {
+        doAnswer(new Answer<Float>() {
+            @Override
+            public Float answer(InvocationOnMock invocation) {
+                final char[] chars = invocation.getArgument(0);
+                final int index = invocation.getArgument(1);
+                // 1 -> 1, 2 -> 3, 3 -> 2
+                return new float[]{1f, 3f, 2f}[chars[index] - '1'];
+            }
+        }).when(paint).measureText(any(char[].class), anyInt(), eq(1));
+        when(paint.measureText((CharSequence) "a",0,1)).thenReturn(5f);
+
+        metrics.setCharacterLists(new TickerCharacterList[]{new TickerCharacterList("123")});
+        metrics.setUniformCharacterListWidth(true);
+        metrics.invalidate();
+
+        assertEquals(3f, metrics.getCharWidth("1"), 0f);
+        assertEquals(3f, metrics.getCharWidth("2"), 0f);
+        assertEquals(3f, metrics.getCharWidth("3"), 0f);
+        // Characters outside of the character lists keep their own width
+        assertEquals(5f, metrics.getCharWidth("a"), 0f);
+    }
+
+    private void stubSingleCharWidths() {
+        doAnswer(new Answer<Float>() {
+            @Override
+            public Float answer(InvocationOnMock invocation) {
+                final char[] chars = invocation.getArgument(0);
+                final int index = invocation.getArgument(1);
+                return (float) (chars[index] - '0');
+            }
+        }).when(paint).measureText(any(char[].class), anyInt(), eq(1));
+    }
 }
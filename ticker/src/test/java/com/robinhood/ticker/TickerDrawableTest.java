@@ -0,0 +1,172 @@
+package com.robinhood.ticker;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.graphics.drawable.Drawable;
+import android.view.Choreographer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = ShadowProportionalPaint.class)
+public class TickerDrawableTest {
+    private static final long ANIMATION_DURATION = 100;
+
+    private TickerDrawable drawable;
+    private Drawable.Callback callback;
+    private int animationStarts, animationEnds;
+
+    @Before
+    public void setup() {
+        drawable = new TickerDrawable();
+        callback = mock(Drawable.Callback.class);
+        drawable.setCallback(callback);
+        drawable.setAnimationDuration(ANIMATION_DURATION);
+        drawable.addAnimatorListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationStart(Animator animation) {
+                animationStarts++;
+            }
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                animationEnds++;
+            }
+        });
+    }
+
+    @Test
+    public void test_intrinsicSize() {
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("12", false);
+
+        assertEquals(30, drawable.getIntrinsicWidth());
+        assertEquals(30, drawable.getIntrinsicHeight());
+    }
+
+    @Test
+    public void test_setText_beforeCharacterLists() {
+        drawable.setText("12");
+        assertEquals("12", drawable.getText());
+        assertEquals(0, drawable.getIntrinsicWidth());
+
+        // The pending text is shown without animation
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        assertEquals(30, drawable.getIntrinsicWidth());
+        assertEquals(0, animationStarts);
+    }
+
+    @Test
+    public void test_setText_notAnimated() {
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        reset(callback);
+
+        drawable.setText("2", false);
+        verify(callback, times(1)).invalidateDrawable(drawable);
+        assertEquals(0, animationStarts);
+
+        idleFor(ANIMATION_DURATION * 2);
+        verify(callback, times(1)).invalidateDrawable(drawable);
+    }
+
+    @Test
+    public void test_setText_animated() {
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        reset(callback);
+
+        drawable.setText("2");
+        assertEquals(1, animationStarts);
+        assertEquals(0, animationEnds);
+
+        idleFor(ANIMATION_DURATION + 50);
+        assertEquals(1, animationEnds);
+        verify(callback, atLeast(2)).invalidateDrawable(drawable);
+
+        reset(callback);
+        idleFor(ANIMATION_DURATION);
+        verifyZeroInteractions(callback);
+    }
+
+    @Test
+    public void test_setVisible_endsAnimation() {
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        drawable.setText("22");
+        assertEquals(1, animationStarts);
+
+        drawable.setVisible(false, false);
+        assertEquals(1, animationEnds);
+        assertEquals(40, drawable.getIntrinsicWidth());
+
+        reset(callback);
+        idleFor(ANIMATION_DURATION * 2);
+        verifyZeroInteractions(callback);
+    }
+
+    @Test
+    public void test_animationDriver() {
+        drawable.setAnimationDriver(new TickerAnimationDriver(Choreographer.getInstance()));
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        reset(callback);
+
+        drawable.setText("2");
+        idleFor(ANIMATION_DURATION + 50);
+        verify(callback, atLeast(2)).invalidateDrawable(drawable);
+        // The animator is not used
+        assertEquals(0, animationStarts);
+
+        reset(callback);
+        idleFor(ANIMATION_DURATION);
+        verifyZeroInteractions(callback);
+    }
+
+    @Test
+    public void test_animationDriver_setVisibleEndsAnimation() {
+        drawable.setAnimationDriver(new TickerAnimationDriver(Choreographer.getInstance()));
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        drawable.setText("2");
+
+        drawable.setVisible(false, false);
+        reset(callback);
+        idleFor(ANIMATION_DURATION * 2);
+        verifyZeroInteractions(callback);
+    }
+
+    @Test
+    public void test_animationDriver_instantQuality() {
+        final TickerAnimationDriver driver = new TickerAnimationDriver(Choreographer.getInstance());
+        final TickerQualityMonitor monitor = driver.getQualityMonitor();
+        monitor.setEnabled(true);
+        for (int i = 0; i < TickerQualityMonitor.WINDOW_FRAMES * 3; i++) {
+            monitor.onFrameInterval(monitor.getFrameBudget() * 2);
+        }
+        assertEquals(TickerQualityMonitor.Level.INSTANT, monitor.getLevel());
+
+        drawable.setAnimationDriver(driver);
+        drawable.setCharacterLists(TickerUtils.provideNumberList());
+        drawable.setText("1", false);
+        reset(callback);
+
+        drawable.setText("2");
+        verify(callback, times(1)).invalidateDrawable(drawable);
+        idleFor(ANIMATION_DURATION * 2);
+        verify(callback, times(1)).invalidateDrawable(drawable);
+    }
+}
@@ -0,0 +1,264 @@
+package com.robinhood.ticker;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.Gravity;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = ShadowProportionalPaint.class)
+public class TickerGridViewTest {
+    private static final long ANIMATION_DURATION = 100;
+
+    private CountingGridView gridView;
+
+    @Before
+    public void setup() {
+        gridView = new CountingGridView(RuntimeEnvironment.getApplication());
+        gridView.setAnimationDriver(new TickerAnimationDriver(Choreographer.getInstance()));
+        gridView.setAnimationDuration(ANIMATION_DURATION);
+        gridView.setCharacterLists(TickerUtils.provideNumberList());
+        gridView.setGridSize(2, 2);
+    }
+
+    @Test
+    public void test_defaults() {
+        final TickerGridView gridView = new TickerGridView(RuntimeEnvironment.getApplication());
+        assertEquals(Gravity.END, gridView.getCellGravity());
+        assertEquals(TickerView.DEFAULT_ANIMATION_DURATION, gridView.getAnimationDuration());
+        assertSame(TickerView.DEFAULT_ANIMATION_INTERPOLATOR,
+                gridView.getAnimationInterpolator());
+        assertSame(TickerAnimationDriver.getInstance(), gridView.getAnimationDriver());
+    }
+
+    @Test
+    public void test_attributes() {
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.textSize, "20px")
+                .addAttribute(android.R.attr.textColor, "#ff0000")
+                .addAttribute(android.R.attr.gravity, "center_horizontal")
+                .build();
+        final TickerGridView gridView =
+                new TickerGridView(RuntimeEnvironment.getApplication(), attrs);
+
+        assertEquals(20f, gridView.getTextSize(), 0f);
+        assertEquals(Color.RED, gridView.getTextColor());
+        assertEquals(Gravity.CENTER_HORIZONTAL, gridView.getCellGravity());
+    }
+
+    @Test
+    public void test_measure() {
+        gridView.setCellText(0, 0, "1", false);
+        gridView.setCellText(0, 1, "22", false);
+        gridView.setCellText(1, 0, "222", false);
+        gridView.setSpacing(5, 3);
+        measure();
+
+        // The columns are 60 and 40 wide, and each row is 30 high
+        assertEquals(60 + 5 + 40, gridView.getMeasuredWidth());
+        assertEquals(30 + 3 + 30, gridView.getMeasuredHeight());
+    }
+
+    @Test
+    public void test_measure_followsCellWidths() {
+        gridView.setCellText(0, 0, "22", false);
+        gridView.setCellText(1, 0, "1", false);
+        gridView.setCellText(0, 1, "1", false);
+        measure();
+        assertEquals(40 + 10, gridView.getMeasuredWidth());
+
+        // The widest cell of the first column shrinks
+        gridView.setCellText(0, 0, "2", false);
+        measure();
+        assertEquals(20 + 10, gridView.getMeasuredWidth());
+
+        // Another cell of the first column grows
+        gridView.setCellText(1, 0, "222", false);
+        measure();
+        assertEquals(60 + 10, gridView.getMeasuredWidth());
+
+        gridView.setCellText(0, 1, "22", false);
+        measure();
+        assertEquals(60 + 40, gridView.getMeasuredWidth());
+
+        // New columns start out empty
+        gridView.setGridSize(2, 3);
+        measure();
+        assertEquals(60 + 40, gridView.getMeasuredWidth());
+        gridView.setCellText(1, 2, "1", false);
+        measure();
+        assertEquals(60 + 40 + 10, gridView.getMeasuredWidth());
+    }
+
+    @Test
+    public void test_cellGravity() {
+        gridView.setGridSize(2, 1);
+        gridView.setCellText(0, 0, "1", false);
+        gridView.setCellText(1, 0, "22", false);
+
+        // The column is 40 wide, the first cell only 10
+        assertEquals(30f, drawFirstCellX(Gravity.END), 0f);
+        assertEquals(30f, drawFirstCellX(Gravity.RIGHT), 0f);
+        assertEquals(15f, drawFirstCellX(Gravity.CENTER_HORIZONTAL), 0f);
+        assertEquals(15f, drawFirstCellX(Gravity.CENTER), 0f);
+        assertEquals(0f, drawFirstCellX(Gravity.START), 0f);
+        assertEquals(0f, drawFirstCellX(Gravity.LEFT), 0f);
+    }
+
+    @Test
+    public void test_setCellText_notAnimated() {
+        gridView.setCellText(0, 0, "1", false);
+        gridView.invalidations = 0;
+
+        gridView.setCellText(0, 0, "2", false);
+        assertEquals("2", gridView.getCellText(0, 0));
+        assertEquals(1, gridView.invalidations);
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(1, gridView.invalidations);
+    }
+
+    @Test
+    public void test_setCellText_animated() {
+        gridView.setCellText(0, 0, "2", false);
+        gridView.setCellText(1, 1, "2", false);
+        gridView.invalidations = 0;
+
+        gridView.setCellText(0, 0, "3");
+        gridView.setCellText(1, 1, "4");
+        idleFor(ANIMATION_DURATION + 50);
+        assertTrue(gridView.invalidations > 2);
+
+        // Both cells settled, so no more frames are drawn
+        gridView.invalidations = 0;
+        idleFor(ANIMATION_DURATION);
+        assertEquals(0, gridView.invalidations);
+    }
+
+    @Test
+    public void test_onFrame_relayoutOnlyForWidthChanges() {
+        gridView.setCellText(0, 0, "2", false);
+        gridView.setCellText(1, 0, "22", false);
+        measure();
+        gridView.layoutRequests = 0;
+
+        // The digits have the same width, so the grid keeps its size
+        gridView.setCellText(0, 0, "3");
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(0, gridView.layoutRequests);
+
+        // The deleted column shrinks the grid once the animation ends
+        gridView.setCellText(1, 0, "2");
+        assertEquals(0, gridView.layoutRequests);
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(1, gridView.layoutRequests);
+        measure();
+        assertEquals(20, gridView.getMeasuredWidth());
+    }
+
+    @Test
+    public void test_setAnimationDriver_endsAnimations() {
+        gridView.setCellText(0, 0, "2", false);
+        gridView.setCellText(0, 0, "3");
+
+        gridView.setAnimationDriver(null);
+        gridView.invalidations = 0;
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(0, gridView.invalidations);
+
+        // Without a driver, cells update without animation
+        gridView.setCellText(0, 0, "4");
+        assertEquals(1, gridView.invalidations);
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(1, gridView.invalidations);
+    }
+
+    @Test
+    public void test_instantQuality() {
+        final TickerAnimationDriver driver = new TickerAnimationDriver(Choreographer.getInstance());
+        final TickerQualityMonitor monitor = driver.getQualityMonitor();
+        monitor.setEnabled(true);
+        for (int i = 0; i < TickerQualityMonitor.WINDOW_FRAMES * 3; i++) {
+            monitor.onFrameInterval(monitor.getFrameBudget() * 2);
+        }
+        gridView.setAnimationDriver(driver);
+        gridView.setCellText(0, 0, "2", false);
+        gridView.invalidations = 0;
+
+        gridView.setCellText(0, 0, "3");
+        assertEquals(1, gridView.invalidations);
+        idleFor(ANIMATION_DURATION * 2);
+        assertEquals(1, gridView.invalidations);
+    }
+
+    @Test
+    public void test_setGridSize_keepsCells() {
+        gridView.setCellText(0, 0, "1", false);
+        gridView.setCellText(1, 1, "2", false);
+
+        gridView.setGridSize(1, 3);
+        assertEquals("1", gridView.getCellText(0, 0));
+        assertEquals(null, gridView.getCellText(0, 2));
+        gridView.setCellText(0, 2, "3", false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getCellText_outsideGrid() {
+        gridView.getCellText(2, 0);
+    }
+
+    private float drawFirstCellX(int cellGravity) {
+        gridView.setCellGravity(cellGravity);
+        final Canvas canvas = mock(Canvas.class);
+        gridView.onDraw(canvas);
+        final ArgumentCaptor<Float> x = ArgumentCaptor.forClass(Float.class);
+        verify(canvas, atLeastOnce()).translate(x.capture(), eq(0f));
+        return x.getAllValues().get(0);
+    }
+
+    private void measure() {
+        final int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        gridView.measure(unspecified, unspecified);
+    }
+
+    private static class CountingGridView extends TickerGridView {
+        int invalidations;
+        int layoutRequests;
+
+        CountingGridView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            super.invalidate();
+            invalidations++;
+        }
+
+        @Override
+        public void requestLayout() {
+            super.requestLayout();
+            layoutRequests++;
+        }
+    }
+}
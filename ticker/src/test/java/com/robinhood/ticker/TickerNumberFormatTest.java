@@ -0,0 +1,90 @@
+package com.robinhood.ticker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class TickerNumberFormatTest {
+    @Test
+    public void test_format_noGrouping() {
+        assertEquals("0", format(new TickerNumberFormat(0), 0));
+        assertEquals("123.45", format(new TickerNumberFormat(2), 12345));
+        assertEquals("0.05", format(new TickerNumberFormat(2), 5));
+        assertEquals("-0.05", format(new TickerNumberFormat(2), -5));
+        assertEquals("1234567", format(new TickerNumberFormat(0), 1234567));
+    }
+
+    @Test
+    public void test_format_grouping() {
+        assertEquals("$100%", format(new TickerNumberFormat(0, ',', '.', "$", "%"), 100));
+        assertEquals("$1,000%", format(new TickerNumberFormat(0, ',', '.', "$", "%"), 1000));
+        assertEquals("-$1,234.50%", format(new TickerNumberFormat(2, ',', '.', "$", "%"), -123450));
+        assertEquals("$123,456,789.0%",
+                format(new TickerNumberFormat(1, ',', '.', "$", "%"), 1234567890));
+    }
+
+    @Test
+    public void test_format_extremes() {
+        final TickerNumberFormat format = new TickerNumberFormat(0, ',', '.', null, null);
+        assertEquals("-9,223,372,036,854,775,808", format(format, Long.MIN_VALUE));
+        assertEquals("9,223,372,036,854,775,807", format(format, Long.MAX_VALUE));
+        assertEquals("-0.000000000000000001", format(new TickerNumberFormat(18), -1));
+    }
+
+    @Test
+    public void test_plain() {
+        assertSame(TickerNumberFormat.plain(2), TickerNumberFormat.plain(2));
+        assertEquals(2, TickerNumberFormat.plain(2).getFractionDigits());
+        assertEquals("1.23", format(TickerNumberFormat.plain(2), 123));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_plain_unsupportedFractionDigits() {
+        TickerNumberFormat.plain(19);
+    }
+
+    @Test
+    public void test_toUnscaled_roundsHalfAwayFromZero() {
+        final TickerNumberFormat format = new TickerNumberFormat(0);
+        assertEquals(3, format.toUnscaled(2.5));
+        assertEquals(-3, format.toUnscaled(-2.5));
+        assertEquals(2, format.toUnscaled(2.4));
+        assertEquals(-2, format.toUnscaled(-2.4));
+        assertEquals(0, format.toUnscaled(-0.4));
+        assertEquals(12346, new TickerNumberFormat(2).toUnscaled(123.455));
+        assertEquals(-12346, new TickerNumberFormat(2).toUnscaled(-123.455));
+    }
+
+    @Test
+    public void test_toUnscaled_range() {
+        assertEquals(9007199254740992L, new TickerNumberFormat(0).toUnscaled(0x1p53));
+        assertEquals(-4611686018427387904L, new TickerNumberFormat(0).toUnscaled(-0x1p62));
+        assertOutOfRange(new TickerNumberFormat(0), 0x1p63);
+        assertOutOfRange(new TickerNumberFormat(0), -0x1p63);
+        assertOutOfRange(new TickerNumberFormat(18), 10);
+        assertOutOfRange(new TickerNumberFormat(18), -10);
+    }
+
+    @Test
+    public void test_toUnscaled_notFinite() {
+        assertOutOfRange(new TickerNumberFormat(2), Double.NaN);
+        assertOutOfRange(new TickerNumberFormat(2), Double.POSITIVE_INFINITY);
+        assertOutOfRange(new TickerNumberFormat(2), Double.NEGATIVE_INFINITY);
+    }
+
+    private static void assertOutOfRange(TickerNumberFormat format, double value) {
+        try {
+            format.toUnscaled(value);
+            fail("Expected IllegalArgumentException for " + value);
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static String format(TickerNumberFormat format, long unscaled) {
+        final char[] buffer = new char[format.getMaxLength()];
+        final int start = format.format(unscaled, buffer);
+        return new String(buffer, start, buffer.length - start);
+    }
+}
@@ -0,0 +1,65 @@
+package com.robinhood.ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TickerQualityMonitorTest {
+    private static final long BUDGET = 16000000L;
+
+    private TickerQualityMonitor monitor;
+    private final List<TickerQualityMonitor.Level> levels = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        monitor = new TickerQualityMonitor();
+        monitor.setFrameBudget(BUDGET);
+        monitor.addOnLevelChangedListener(new TickerQualityMonitor.OnLevelChangedListener() {
+            @Override
+            public void onLevelChanged(TickerQualityMonitor.Level previousLevel,
+                                       TickerQualityMonitor.Level level) {
+                levels.add(level);
+            }
+        });
+    }
+
+    @Test
+    public void test_disabled() {
+        frames(TickerQualityMonitor.WINDOW_FRAMES * 4, BUDGET * 3);
+        assertEquals(TickerQualityMonitor.Level.FULL, monitor.getLevel());
+        assertEquals(0, levels.size());
+    }
+
+    @Test
+    public void test_stepDownAndUp() {
+        monitor.setEnabled(true);
+
+        // Occasional overruns don't change anything
+        frames(TickerQualityMonitor.WINDOW_FRAMES - 1, BUDGET);
+        frames(1, BUDGET * 3);
+        assertEquals(TickerQualityMonitor.Level.FULL, monitor.getLevel());
+
+        frames(TickerQualityMonitor.WINDOW_FRAMES, BUDGET * 2);
+        assertEquals(TickerQualityMonitor.Level.SHORT_ANIMATIONS, monitor.getLevel());
+        frames(TickerQualityMonitor.WINDOW_FRAMES * 5, BUDGET * 2);
+        assertEquals(TickerQualityMonitor.Level.INSTANT, monitor.getLevel());
+
+        frames(TickerQualityMonitor.WINDOW_FRAMES * TickerQualityMonitor.STEP_UP_CLEAN_WINDOWS,
+                BUDGET);
+        assertEquals(TickerQualityMonitor.Level.CROSS_FADE, monitor.getLevel());
+
+        monitor.setEnabled(false);
+        assertEquals(TickerQualityMonitor.Level.FULL, monitor.getLevel());
+        assertEquals(5, levels.size());
+    }
+
+    private void frames(int count, long interval) {
+        for (int i = 0; i < count; i++) {
+            monitor.onFrameInterval(interval);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.robinhood.ticker;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.AttributeSet;
+import android.view.Gravity;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = ShadowProportionalPaint.class)
+public class TickerStyleTest {
+    private TickerStyle style;
+
+    @Before
+    public void setup() {
+        style = new TickerStyle();
+        style.textSize = 30f;
+        style.preferredScrollingDirection = TickerView.ScrollingDirection.ANY;
+        style.setDefaultCharacterLists(TickerStyle.CHARACTER_LIST_NUMBER);
+        style.text = "1";
+    }
+
+    @Test
+    public void test_defaultCharacterLists_reserveCharacterWidth() {
+        style.reserveCharacterWidth = true;
+        final TickerView view = new TickerView(RuntimeEnvironment.getApplication(), style);
+
+        assertTrue(view.isCharacterListsSet());
+        // "1" reserves the width of the widest digit.
+        assertEquals(20, measureWidth(view));
+    }
+
+    @Test
+    public void test_defaultCharacterLists_uniformCharacterWidth() {
+        style.uniformCharacterWidth = true;
+        final TickerView view = new TickerView(RuntimeEnvironment.getApplication(), style);
+
+        // Every digit has the width of the widest one.
+        assertEquals(20, measureWidth(view));
+        view.setText("8", false);
+        assertEquals(20, measureWidth(view));
+    }
+
+    @Test
+    public void test_defaultCharacterLists_proportionalWidth() {
+        final TickerView view = new TickerView(RuntimeEnvironment.getApplication(), style);
+
+        assertEquals(10, measureWidth(view));
+        view.setText("8", false);
+        assertEquals(20, measureWidth(view));
+    }
+
+    @Test
+    public void test_obtain_sharedWithoutViewAttributes() {
+        final Context context = RuntimeEnvironment.getApplication();
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.alpha, "0.5")
+                .build();
+
+        final TickerStyle style = TickerStyle.obtain(context, attrs, 0, 0);
+        assertSame(style, TickerStyle.obtain(context, attrs, 0, 0));
+        assertSame(style, TickerStyle.obtain(context, null, 0, 0));
+        assertNotSame(style, TickerStyle.obtain(context, null, 0, 0, Gravity.END));
+    }
+
+    @Test
+    public void test_obtain_notSharedWithViewAttributes() {
+        final Context context = RuntimeEnvironment.getApplication();
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(android.R.attr.textSize, "20px")
+                .build();
+
+        final TickerStyle style = TickerStyle.obtain(context, attrs, 0, 0);
+        assertEquals(20f, style.textSize, 0f);
+        assertNotSame(style, TickerStyle.obtain(context, attrs, 0, 0));
+        assertNotSame(style, TickerStyle.obtain(context, null, 0, 0));
+    }
+
+    @Test
+    public void test_obtain_notSharedAcrossConfigurations() {
+        final Context context = RuntimeEnvironment.getApplication();
+        final TickerStyle style = TickerStyle.obtain(context, null, 0, 0);
+
+        final Configuration configuration =
+                new Configuration(context.getResources().getConfiguration());
+        configuration.fontScale *= 2;
+        final Context scaledContext = context.createConfigurationContext(configuration);
+        final TickerStyle scaledStyle = TickerStyle.obtain(scaledContext, null, 0, 0);
+        assertNotSame(style, scaledStyle);
+        assertEquals(style.textSize * 2, scaledStyle.textSize, 0.01f);
+    }
+
+    private static int measureWidth(TickerView view) {
+        final int unspecified = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        view.measure(unspecified, unspecified);
+        return view.getMeasuredWidth();
+    }
+}
@@ -0,0 +1,118 @@
+package com.robinhood.ticker;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class TickerViewAccessibilityTest {
+    private static final long ANIMATION_DURATION = 100;
+
+    private TickerView tickerView;
+
+    @Before
+    public void setup() {
+        tickerView = TestTickerViews.attach();
+        tickerView.setAnimationDuration(ANIMATION_DURATION);
+        tickerView.setText("1", false);
+    }
+
+    @Test
+    public void test_immediate() {
+        tickerView.setText("2");
+        assertContentDescription("2");
+        tickerView.setText("3", false);
+        assertContentDescription("3");
+    }
+
+    @Test
+    public void test_immediate_followsQueuedUpdates() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        assertEquals("1", tickerView.getText());
+        assertContentDescription("2");
+
+        tickerView.setText("1");
+        assertContentDescription("1");
+    }
+
+    @Test
+    public void test_throttled() {
+        tickerView.setAccessibilityUpdatePolicy(TickerView.AccessibilityUpdatePolicy.THROTTLED);
+        tickerView.setAccessibilityUpdateInterval(500);
+
+        tickerView.setText("2");
+        tickerView.setText("3");
+        assertContentDescription("1");
+        idleFor(450);
+        assertContentDescription("1");
+        idleFor(100);
+        assertContentDescription("3");
+
+        // The interval starts over with the last update
+        tickerView.setText("4");
+        idleFor(400);
+        assertContentDescription("3");
+        idleFor(100);
+        assertContentDescription("4");
+    }
+
+    @Test
+    public void test_throttled_followsQueuedUpdates() {
+        tickerView.setAccessibilityUpdatePolicy(TickerView.AccessibilityUpdatePolicy.THROTTLED);
+        tickerView.setAccessibilityUpdateInterval(500);
+        tickerView.setMinimumDwellTime(2000);
+
+        tickerView.setText("2");
+        idleFor(550);
+        assertEquals("1", tickerView.getText());
+        assertContentDescription("2");
+    }
+
+    @Test
+    public void test_onSettle() {
+        tickerView.setAccessibilityUpdatePolicy(TickerView.AccessibilityUpdatePolicy.ON_SETTLE);
+
+        tickerView.setText("2");
+        assertContentDescription("1");
+        idleFor(ANIMATION_DURATION + 50);
+        assertContentDescription("2");
+
+        tickerView.setText("3", false);
+        assertContentDescription("3");
+    }
+
+    @Test
+    public void test_onSettle_waitsForQueuedUpdates() {
+        tickerView.setAccessibilityUpdatePolicy(TickerView.AccessibilityUpdatePolicy.ON_SETTLE);
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        tickerView.setText("3");
+        idleFor(250);
+        assertContentDescription("1");
+        idleFor(1000);
+        assertContentDescription("3");
+    }
+
+    @Test
+    public void test_onSettle_returnToShownText() {
+        tickerView.setAccessibilityUpdatePolicy(TickerView.AccessibilityUpdatePolicy.ON_SETTLE);
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        tickerView.setText("1");
+        assertContentDescription("1");
+        idleFor(1000);
+        assertContentDescription("1");
+    }
+
+    private void assertContentDescription(String expected) {
+        assertEquals(expected, tickerView.getContentDescription().toString());
+    }
+}
@@ -0,0 +1,220 @@
+package com.robinhood.ticker;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static com.robinhood.ticker.TestTickerViews.idleFor;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class TickerViewUpdatePolicyTest {
+    private static final long ANIMATION_DURATION = 100;
+
+    private TickerView tickerView;
+    private int animationStarts, animationEnds;
+
+    @Before
+    public void setup() {
+        tickerView = TestTickerViews.attach();
+        tickerView.setAnimationDuration(ANIMATION_DURATION);
+        tickerView.setText("1", false);
+        tickerView.addAnimatorListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationStart(Animator animation) {
+                animationStarts++;
+            }
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                animationEnds++;
+            }
+        });
+    }
+
+    @Test
+    public void test_noPolicy_startsRightAway() {
+        tickerView.setText("2");
+        assertEquals("2", tickerView.getText());
+    }
+
+    @Test
+    public void test_maxUpdatesPerSecond() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        assertEquals("1", tickerView.getText());
+        idleFor(450);
+        assertEquals("1", tickerView.getText());
+        idleFor(100);
+        assertEquals("2", tickerView.getText());
+
+        // The rate is limited from the start of the previous update, not from its end
+        idleFor(ANIMATION_DURATION + 50);
+        tickerView.setText("3");
+        assertEquals("2", tickerView.getText());
+        idleFor(300);
+        assertEquals("3", tickerView.getText());
+    }
+
+    @Test
+    public void test_minimumDwellTime() {
+        tickerView.setMinimumDwellTime(1000);
+
+        tickerView.setText("2");
+        idleFor(950);
+        assertEquals("1", tickerView.getText());
+        idleFor(100);
+        assertEquals("2", tickerView.getText());
+
+        // The dwell time starts once the animation settles, not when it starts
+        idleFor(ANIMATION_DURATION + 50);
+        tickerView.setText("3");
+        idleFor(800);
+        assertEquals("2", tickerView.getText());
+        idleFor(100);
+        assertEquals("3", tickerView.getText());
+    }
+
+    @Test
+    public void test_showLast_showsLatestUpdate() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        tickerView.setText("3");
+        tickerView.setText("4");
+        assertEquals("1", tickerView.getText());
+        idleFor(550);
+        assertEquals("4", tickerView.getText());
+
+        // Nothing else is queued
+        idleFor(1000);
+        assertEquals("4", tickerView.getText());
+    }
+
+    @Test
+    public void test_showLast_returnToShownText() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        tickerView.setText("1");
+        idleFor(1000);
+        assertEquals("1", tickerView.getText());
+
+        // The queued update was dropped, so the same text can be queued again
+        tickerView.setText("2");
+        tickerView.setText("1");
+        tickerView.setText("2");
+        idleFor(550);
+        assertEquals("2", tickerView.getText());
+    }
+
+    @Test
+    public void test_showLast_setValueComparesQueuedValue() {
+        tickerView.setValue(1, 0);
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setValue(2, 0);
+        tickerView.setValue(1, 0);
+        idleFor(1000);
+        assertEquals("1", tickerView.getText().toString());
+    }
+
+    @Test
+    public void test_drop_dropsUpdatesWhileLimited() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+        tickerView.setUpdateConflation(TickerView.UpdateConflation.DROP);
+
+        tickerView.setText("2");
+        idleFor(1000);
+        assertEquals("1", tickerView.getText());
+
+        tickerView.setText("3");
+        assertEquals("3", tickerView.getText());
+        tickerView.setText("4");
+        idleFor(1000);
+        assertEquals("3", tickerView.getText());
+    }
+
+    @Test
+    public void test_drop_dropsUpdatesWhileAnimating() {
+        tickerView.setUpdateConflation(TickerView.UpdateConflation.DROP);
+
+        tickerView.setText("2");
+        tickerView.setText("3");
+        idleFor(1000);
+        assertEquals("2", tickerView.getText());
+    }
+
+    @Test
+    public void test_notAnimated_ignoresPolicy() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+
+        tickerView.setText("2");
+        tickerView.setText("3", false);
+        assertEquals("3", tickerView.getText());
+        idleFor(1000);
+        assertEquals("3", tickerView.getText());
+    }
+
+    @Test
+    public void test_notAnimated_snapsToQueuedText() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+        tickerView.setText("2");
+        tickerView.setText("3");
+
+        tickerView.setText("3", false);
+        assertEquals("3", tickerView.getText());
+        assertEquals(0, animationStarts);
+        idleFor(1000);
+        assertEquals("3", tickerView.getText());
+        assertEquals(0, animationStarts);
+    }
+
+    @Test
+    public void test_notAnimated_snapsRunningAnimation() {
+        tickerView.setText("2");
+        assertEquals(1, animationStarts);
+
+        tickerView.setText("2", false);
+        assertEquals(1, animationEnds);
+        idleFor(1000);
+        assertEquals(1, animationStarts);
+        assertEquals(1, animationEnds);
+    }
+
+    @Test
+    public void test_postText_appliesLatestText() {
+        tickerView.postText("2");
+        tickerView.postText("3");
+        assertEquals("1", tickerView.getText());
+        idleFor(100);
+        assertEquals("3", tickerView.getText());
+    }
+
+    @Test
+    public void test_bind_dropsPostedText() {
+        tickerView.postText("2");
+        tickerView.bind("3");
+        idleFor(1000);
+        assertEquals("3", tickerView.getText());
+
+        // Posting works as usual after binding
+        tickerView.postText("4");
+        idleFor(100);
+        assertEquals("4", tickerView.getText());
+    }
+
+    @Test
+    public void test_bind_dropsQueuedUpdates() {
+        tickerView.setMaxUpdatesPerSecond(2f);
+        tickerView.setText("2");
+        tickerView.bind("3");
+        idleFor(1000);
+        assertEquals("3", tickerView.getText());
+    }
+}
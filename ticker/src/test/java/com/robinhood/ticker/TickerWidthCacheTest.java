@@ -0,0 +1,140 @@
+package com.robinhood.ticker;
+
+import android.graphics.Paint;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Runs on Robolectric so that the attributes of newer API levels are part of the signature.
+@RunWith(RobolectricTestRunner.class)
+public class TickerWidthCacheTest {
+    @Mock Paint paint1;
+    @Mock Paint paint2;
+    private TickerWidthCache cache;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+        when(paint1.getFontMetrics()).thenReturn(fontMetrics);
+        when(paint2.getFontMetrics()).thenReturn(fontMetrics);
+        when(paint1.getTextSize()).thenReturn(10f);
+        when(paint2.getTextSize()).thenReturn(10f);
+
+        cache = new TickerWidthCache(2);
+    }
+
+    @Test
+    public void test_sharedBetweenMetrics() {
+        when(paint1.measureText((CharSequence) "1",0,1)).thenReturn(1f);
+        when(paint1.measureText((CharSequence) "12",0,2)).thenReturn(2f);
+
+        final TickerDrawMetrics metrics1 = new TickerDrawMetrics(paint1, cache);
+        final TickerDrawMetrics metrics2 = new TickerDrawMetrics(paint2, cache);
+
+        assertEquals(1f, metrics1.getCharWidth("1"), 0f);
+        assertEquals(2f, metrics1.getCharWidth("12"), 0f);
+        assertEquals(1f, metrics2.getCharWidth("1"), 0f);
+        assertEquals(2f, metrics2.getCharWidth("12"), 0f);
+
+        verify(paint2, never()).measureText((CharSequence) "1",0,1);
+        verify(paint2, never()).measureText((CharSequence) "12",0,2);
+    }
+
+    @Test
+    public void test_keyedByPaintAttributes() {
+        final TickerWidthCache.StyleWidths widths1 = cache.getStyleWidths(new TickerPaintSignature(paint1));
+        assertSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+
+        when(paint2.getTextSize()).thenReturn(20f);
+        assertNotSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+    }
+
+    @Test
+    public void test_keyedByTextLocale() {
+        when(paint1.getTextLocale()).thenReturn(Locale.US);
+        when(paint2.getTextLocale()).thenReturn(Locale.US);
+        final TickerWidthCache.StyleWidths widths1 = cache.getStyleWidths(new TickerPaintSignature(paint1));
+        assertSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+
+        when(paint2.getTextLocale()).thenReturn(Locale.JAPAN);
+        assertNotSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+    }
+
+    @Test
+    public void test_keyedByFontVariationSettings() {
+        when(paint1.getFontVariationSettings()).thenReturn("'wght' 400");
+        when(paint2.getFontVariationSettings()).thenReturn("'wght' 400");
+        final TickerWidthCache.StyleWidths widths1 = cache.getStyleWidths(new TickerPaintSignature(paint1));
+        assertSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+
+        when(paint2.getFontVariationSettings()).thenReturn("'wght' 700");
+        assertNotSame(widths1, cache.getStyleWidths(new TickerPaintSignature(paint2)));
+    }
+
+    @Test
+    public void test_evictsLeastRecentlyUsed() {
+        final TickerWidthCache.StyleWidths widths = cache.getStyleWidths(new TickerPaintSignature(paint1));
+        widths.putCharWidth('1', 1f);
+
+        when(paint2.getTextSize()).thenReturn(20f);
+        cache.getStyleWidths(new TickerPaintSignature(paint2));
+        when(paint2.getTextSize()).thenReturn(30f);
+        cache.getStyleWidths(new TickerPaintSignature(paint2));
+
+        assertNotSame(widths, cache.getStyleWidths(new TickerPaintSignature(paint1)));
+        assertEquals(Float.NaN, cache.getStyleWidths(new TickerPaintSignature(paint1)).getCharWidth('1'), 0f);
+    }
+
+    @Test
+    @Config(shadows = ShadowProportionalPaint.class)
+    public void test_prewarmsCharacterLists() {
+        final ArrayList<Runnable> tasks = new ArrayList<>();
+        final TickerWidthCache cache = new TickerWidthCache(2, new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+        final Paint paint = new Paint();
+        final TickerDrawMetrics metrics = new TickerDrawMetrics(paint, cache);
+        final TickerStats stats = new TickerStats();
+        metrics.setStats(stats);
+        assertEquals(0, tasks.size());
+
+        metrics.setCharacterLists(new TickerCharacterList[] {
+                new TickerCharacterList(TickerUtils.provideNumberList())
+        });
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(10f, cache.getStyleWidths(new TickerPaintSignature(paint)).getCharWidth('1'), 0f);
+
+        // The first lookup finds the whole list in the shared cache
+        assertEquals(10f, metrics.getCharWidth("1"), 0f);
+        assertEquals(20f, metrics.getCharWidth("2"), 0f);
+        assertEquals(20f, metrics.getCharacterListMaxWidth(), 0f);
+        assertEquals(0, stats.snapshot().get(TickerStats.Counter.MEASURE_TEXT_CALLS));
+
+        // Paint changes measure the lists again
+        paint.setTextSize(paint.getTextSize() * 2);
+        metrics.invalidate();
+        assertEquals(2, tasks.size());
+    }
+}